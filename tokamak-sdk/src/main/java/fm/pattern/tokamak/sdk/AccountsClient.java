@@ -3,6 +3,7 @@ package fm.pattern.tokamak.sdk;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.ws.rs.core.GenericType;
@@ -10,6 +11,7 @@ import javax.ws.rs.core.Response;
 
 import fm.pattern.tokamak.sdk.commons.CriteriaRepresentation;
 import fm.pattern.tokamak.sdk.commons.ErrorsRepresentation;
+import fm.pattern.tokamak.sdk.commons.LookupsRepresentation;
 import fm.pattern.tokamak.sdk.commons.PaginatedListRepresentation;
 import fm.pattern.tokamak.sdk.commons.RestClient;
 import fm.pattern.tokamak.sdk.commons.Result;
@@ -39,6 +41,10 @@ public class AccountsClient extends RestClient {
 		return put(resource("/v1/accounts/" + representation.getId()), representation, AccountRepresentation.class, token);
 	}
 
+	public Result<AccountRepresentation> patch(String id, Map<String, Object> fields, String token) {
+		return patch(resource("/v1/accounts/" + id), fields, AccountRepresentation.class, token);
+	}
+
 	public Result<AccountRepresentation> updatePassword(AccountRepresentation representation, SecretsRepresentation secrets, String token) {
 		return put(resource("/v1/accounts/" + representation.getId() + "/password"), secrets, AccountRepresentation.class, token);
 	}
@@ -67,6 +73,18 @@ public class AccountsClient extends RestClient {
 		return get(resource("/v1/accounts/username/" + username), AccountRepresentation.class, token);
 	}
 
+	public Result<LookupsRepresentation<AccountRepresentation>> findAllByUsername(List<String> usernames) {
+		return findAllByUsername(usernames, TokenHolder.token());
+	}
+
+	public Result<LookupsRepresentation<AccountRepresentation>> findAllByUsername(List<String> usernames, String token) {
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put("usernames", String.join(",", usernames));
+
+		return get(resource("/v1/accounts/batch", params), new GenericType<LookupsRepresentation<AccountRepresentation>>() {
+		}, token);
+	}
+
 	public Result<PaginatedListRepresentation<AccountRepresentation>> list(CriteriaRepresentation criteria) {
 		return list(criteria, TokenHolder.token());
 	}
@@ -86,6 +104,12 @@ public class AccountsClient extends RestClient {
 		if (criteria.getLimit() != null) {
 			params.put("limit", criteria.getLimit());
 		}
+		if (criteria.getCursor() != null) {
+			params.put("cursor", criteria.getCursor());
+		}
+		if (criteria.getTotal() != null) {
+			params.put("total", criteria.getTotal());
+		}
 
 		Response response = null;
 		if (isNotBlank(token)) {
@@ -1,5 +1,7 @@
 package fm.pattern.tokamak.sdk;
 
+import java.util.List;
+
 import fm.pattern.tokamak.sdk.commons.RestClient;
 import fm.pattern.tokamak.sdk.commons.Result;
 import fm.pattern.tokamak.sdk.commons.TokenHolder;
@@ -60,4 +62,8 @@ public class AudiencesClient extends RestClient {
 		return get(resource("/v1/audiences"), AudiencesRepresentation.class, token);
 	}
 
+	public Result<AudiencesRepresentation> upsert(List<AudienceRepresentation> audiences, String token) {
+		return put(resource("/v1/audiences"), new AudiencesRepresentation(audiences), AudiencesRepresentation.class, token);
+	}
+
 }
@@ -1,5 +1,7 @@
 package fm.pattern.tokamak.sdk;
 
+import java.util.List;
+
 import fm.pattern.tokamak.sdk.commons.RestClient;
 import fm.pattern.tokamak.sdk.commons.Result;
 import fm.pattern.tokamak.sdk.model.AuthoritiesRepresentation;
@@ -35,4 +37,8 @@ public class AuthoritiesClient extends RestClient {
         return get(resource("/v1/authorities"), AuthoritiesRepresentation.class, token);
     }
 
+    public Result<AuthoritiesRepresentation> upsert(List<AuthorityRepresentation> authorities, String token) {
+        return put(resource("/v1/authorities"), new AuthoritiesRepresentation(authorities), AuthoritiesRepresentation.class, token);
+    }
+
 }
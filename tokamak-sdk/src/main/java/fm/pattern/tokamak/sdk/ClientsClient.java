@@ -3,6 +3,7 @@ package fm.pattern.tokamak.sdk;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.ws.rs.core.GenericType;
@@ -10,6 +11,7 @@ import javax.ws.rs.core.Response;
 
 import fm.pattern.tokamak.sdk.commons.CriteriaRepresentation;
 import fm.pattern.tokamak.sdk.commons.ErrorsRepresentation;
+import fm.pattern.tokamak.sdk.commons.LookupsRepresentation;
 import fm.pattern.tokamak.sdk.commons.PaginatedListRepresentation;
 import fm.pattern.tokamak.sdk.commons.RestClient;
 import fm.pattern.tokamak.sdk.commons.Result;
@@ -30,6 +32,10 @@ public class ClientsClient extends RestClient {
 		return put(resource("/v1/clients/" + representation.getId()), representation, ClientRepresentation.class, token);
 	}
 
+	public Result<ClientRepresentation> patch(String id, Map<String, Object> fields, String token) {
+		return patch(resource("/v1/clients/" + id), fields, ClientRepresentation.class, token);
+	}
+
 	public Result<ClientRepresentation> updateSecret(ClientRepresentation representation, SecretsRepresentation secrets, String token) {
 		return put(resource("/v1/clients/" + representation.getId() + "/secret"), secrets, ClientRepresentation.class, token);
 	}
@@ -42,6 +48,14 @@ public class ClientsClient extends RestClient {
 		return get(resource("/v1/clients/" + id), ClientRepresentation.class, token);
 	}
 
+	public Result<LookupsRepresentation<ClientRepresentation>> findAllById(List<String> ids, String token) {
+		Map<String, Object> params = new HashMap<String, Object>();
+		params.put("ids", String.join(",", ids));
+
+		return get(resource("/v1/clients/batch", params), new GenericType<LookupsRepresentation<ClientRepresentation>>() {
+		}, token);
+	}
+
 	public Result<PaginatedListRepresentation<ClientRepresentation>> list(CriteriaRepresentation criteria, String token) {
 		Map<String, Object> params = new HashMap<String, Object>();
 
@@ -57,6 +71,12 @@ public class ClientsClient extends RestClient {
 		if (criteria.getLimit() != null) {
 			params.put("limit", criteria.getLimit());
 		}
+		if (criteria.getCursor() != null) {
+			params.put("cursor", criteria.getCursor());
+		}
+		if (criteria.getTotal() != null) {
+			params.put("total", criteria.getTotal());
+		}
 
 		Response response = null;
 		if (isNotBlank(token)) {
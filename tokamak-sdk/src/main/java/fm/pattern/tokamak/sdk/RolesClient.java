@@ -1,5 +1,7 @@
 package fm.pattern.tokamak.sdk;
 
+import java.util.List;
+
 import fm.pattern.tokamak.sdk.commons.RestClient;
 import fm.pattern.tokamak.sdk.commons.Result;
 import fm.pattern.tokamak.sdk.model.RoleRepresentation;
@@ -35,4 +37,8 @@ public class RolesClient extends RestClient {
 		return get(resource("/v1/roles"), RolesRepresentation.class, token);
 	}
 
+	public Result<RolesRepresentation> upsert(List<RoleRepresentation> roles, String token) {
+		return put(resource("/v1/roles"), new RolesRepresentation(roles), RolesRepresentation.class, token);
+	}
+
 }
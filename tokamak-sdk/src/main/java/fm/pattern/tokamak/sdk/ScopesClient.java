@@ -1,5 +1,7 @@
 package fm.pattern.tokamak.sdk;
 
+import java.util.List;
+
 import fm.pattern.tokamak.sdk.commons.RestClient;
 import fm.pattern.tokamak.sdk.commons.Result;
 import fm.pattern.tokamak.sdk.model.ScopeRepresentation;
@@ -35,4 +37,8 @@ public class ScopesClient extends RestClient {
         return get(resource("/v1/scopes"), ScopesRepresentation.class, token);
     }
 
+    public Result<ScopesRepresentation> upsert(List<ScopeRepresentation> scopes, String token) {
+        return put(resource("/v1/scopes"), new ScopesRepresentation(scopes), ScopesRepresentation.class, token);
+    }
+
 }
@@ -7,6 +7,8 @@ public class CriteriaRepresentation {
 
 	private Integer page;
 	private Integer limit;
+	private String cursor;
+	private String total;
 
 	public static CriteriaRepresentation criteria() {
 		return new CriteriaRepresentation();
@@ -36,6 +38,16 @@ public class CriteriaRepresentation {
 		return this;
 	}
 
+	public CriteriaRepresentation cursor(String cursor) {
+		this.cursor = cursor;
+		return this;
+	}
+
+	public CriteriaRepresentation total(String total) {
+		this.total = total;
+		return this;
+	}
+
 	public Long getFrom() {
 		return from;
 	}
@@ -68,4 +80,20 @@ public class CriteriaRepresentation {
 		this.limit = limit;
 	}
 
+	public String getCursor() {
+		return cursor;
+	}
+
+	public void setCursor(String cursor) {
+		this.cursor = cursor;
+	}
+
+	public String getTotal() {
+		return total;
+	}
+
+	public void setTotal(String total) {
+		this.total = total;
+	}
+
 }
@@ -0,0 +1,47 @@
+package fm.pattern.tokamak.sdk.commons;
+
+public class LookupRepresentation<T> extends Representation {
+
+	private String key;
+	private Integer status;
+	private T payload;
+
+	public LookupRepresentation() {
+
+	}
+
+	public LookupRepresentation(String key, Integer status, T payload) {
+		this.key = key;
+		this.status = status;
+		this.payload = payload;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public void setKey(String key) {
+		this.key = key;
+	}
+
+	public Integer getStatus() {
+		return status;
+	}
+
+	public void setStatus(Integer status) {
+		this.status = status;
+	}
+
+	public T getPayload() {
+		return payload;
+	}
+
+	public void setPayload(T payload) {
+		this.payload = payload;
+	}
+
+	public boolean isFound() {
+		return payload != null;
+	}
+
+}
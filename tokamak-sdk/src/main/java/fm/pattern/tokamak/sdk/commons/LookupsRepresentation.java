@@ -0,0 +1,26 @@
+package fm.pattern.tokamak.sdk.commons;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LookupsRepresentation<T> extends Representation {
+
+	private List<LookupRepresentation<T>> results = new ArrayList<>();
+
+	public LookupsRepresentation() {
+
+	}
+
+	public LookupsRepresentation(List<LookupRepresentation<T>> results) {
+		this.results = results;
+	}
+
+	public List<LookupRepresentation<T>> getResults() {
+		return results;
+	}
+
+	public void setResults(List<LookupRepresentation<T>> results) {
+		this.results = results;
+	}
+
+}
@@ -11,6 +11,7 @@ public class PaginatedListRepresentation<T> extends Representation {
 	private Integer total;
 	private Integer remaining;
 	private Integer pages;
+	private String next;
 
 	public PaginatedListRepresentation() {
 
@@ -57,6 +58,18 @@ public class PaginatedListRepresentation<T> extends Representation {
 		this.pages = pages;
 	}
 
+	public String getNext() {
+		return next;
+	}
+
+	public void setNext(String next) {
+		this.next = next;
+	}
+
+	public boolean hasNext() {
+		return next != null;
+	}
+
 	public CriteriaRepresentation getCriteria() {
 		return criteria;
 	}
@@ -11,6 +11,7 @@ import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.Response;
 
 import org.glassfish.jersey.client.ClientConfig;
@@ -80,6 +81,19 @@ public class RestClient {
 		return Result.reject(response.getStatus(), null, response.readEntity(ErrorsRepresentation.class).getErrors());
 	}
 
+	protected final <T, S> Result<T> patch(Invocation.Builder resource, S patch, Class<T> clazz, String token) {
+		if (isNotBlank(token)) {
+			resource.header("Authorization", "Bearer " + token);
+		}
+
+		Response response = resource.method("PATCH", Entity.entity(patch, APPLICATION_JSON));
+		if (response.getStatus() == 200) {
+			return Result.accept(response.getStatus(), response.readEntity(clazz));
+		}
+
+		return Result.reject(response.getStatus(), null, response.readEntity(ErrorsRepresentation.class).getErrors());
+	}
+
 	protected final <T, S> Result<T> post(Invocation.Builder resource, S representation, Class<T> clazz, String token) {
 		if (isNotBlank(token)) {
 			resource.header("Authorization", "Bearer " + token);
@@ -119,6 +133,19 @@ public class RestClient {
 		return Result.reject(response.getStatus(), null, response.readEntity(ErrorsRepresentation.class).getErrors());
 	}
 
+	protected final <T> Result<T> get(Invocation.Builder resource, GenericType<T> type, String token) {
+		if (isNotBlank(token)) {
+			resource.header("Authorization", "Bearer " + token);
+		}
+
+		Response response = resource.get();
+		if (response.getStatus() == 200) {
+			return Result.accept(response.getStatus(), response.readEntity(type));
+		}
+
+		return Result.reject(response.getStatus(), null, response.readEntity(ErrorsRepresentation.class).getErrors());
+	}
+
 	private static ClientConfig config() {
 		ClientConfig clientConfig = new ClientConfig();
 		clientConfig.property(HttpUrlConnectorProvider.SET_METHOD_WORKAROUND, true);
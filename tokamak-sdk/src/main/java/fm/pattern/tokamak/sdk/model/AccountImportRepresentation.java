@@ -0,0 +1,58 @@
+package fm.pattern.tokamak.sdk.model;
+
+import java.util.List;
+
+import fm.pattern.tokamak.sdk.commons.ErrorRepresentation;
+
+public class AccountImportRepresentation {
+
+	private Integer line;
+	private String id;
+	private String username;
+	private List<ErrorRepresentation> errors;
+
+	public AccountImportRepresentation() {
+
+	}
+
+	public AccountImportRepresentation(Integer line) {
+		this.line = line;
+	}
+
+	public boolean isImported() {
+		return errors == null || errors.isEmpty();
+	}
+
+	public Integer getLine() {
+		return line;
+	}
+
+	public void setLine(Integer line) {
+		this.line = line;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public void setUsername(String username) {
+		this.username = username;
+	}
+
+	public List<ErrorRepresentation> getErrors() {
+		return errors;
+	}
+
+	public void setErrors(List<ErrorRepresentation> errors) {
+		this.errors = errors;
+	}
+
+}
@@ -0,0 +1,66 @@
+package fm.pattern.tokamak.server.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceBuilder;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import fm.pattern.tokamak.server.repository.ReplicaRoutingDataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class DataSourceConfiguration {
+
+	@Value("${datasource.replicas.urls:}")
+	private String urls;
+
+	@Value("${datasource.replicas.username:${spring.datasource.username:}}")
+	private String username;
+
+	@Value("${datasource.replicas.password:${spring.datasource.password:}}")
+	private String password;
+
+	@Value("${datasource.replicas.maxLagSeconds:5}")
+	private Long maxLagSeconds;
+
+	@Value("${datasource.replicas.stickyMillis:2000}")
+	private Long stickyMillis;
+
+	@Value("${datasource.replicas.checkIntervalMillis:5000}")
+	private Long checkIntervalMillis;
+
+	@Bean("primaryDataSource")
+	@ConfigurationProperties(prefix = "spring.datasource.tomcat")
+	DataSource primaryDataSource(DataSourceProperties properties) {
+		return properties.initializeDataSourceBuilder().build();
+	}
+
+	@Bean
+	ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource, DataSourceProperties properties) {
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		for (String url : StringUtils.commaDelimitedListToStringArray(urls)) {
+			DataSource replica = DataSourceBuilder.create().driverClassName(properties.determineDriverClassName()).url(url.trim()).username(username).password(password).build();
+			replicas.put("replica-" + replicas.size(), replica);
+		}
+		return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLagSeconds, stickyMillis, checkIntervalMillis);
+	}
+
+	@Primary
+	@Bean("dataSource")
+	DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+		return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+	}
+
+}
@@ -0,0 +1,58 @@
+package fm.pattern.tokamak.server.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import fm.pattern.tokamak.server.repository.InstrumentedDataSource;
+import fm.pattern.tokamak.server.repository.QueryMetrics;
+
+@Configuration
+@ConditionalOnProperty(name = "datasource.instrumentation.enabled", havingValue = "true")
+public class QueryInstrumentationConfiguration {
+
+	@Value("${datasource.instrumentation.slowQueryMillis:500}")
+	private Long slowQueryMillis;
+
+	@Bean
+	QueryMetrics queryMetrics() {
+		return new QueryMetrics(slowQueryMillis);
+	}
+
+	@Bean
+	static BeanPostProcessor dataSourceInstrumentation() {
+		return new DataSourceInstrumentation();
+	}
+
+	static class DataSourceInstrumentation implements BeanPostProcessor, BeanFactoryAware {
+
+		private BeanFactory beanFactory;
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+			this.beanFactory = beanFactory;
+		}
+
+		@Override
+		public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+			return bean;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+			if ("dataSource".equals(beanName) && bean instanceof DataSource) {
+				return InstrumentedDataSource.wrap((DataSource) bean, beanFactory.getBean(QueryMetrics.class));
+			}
+			return bean;
+		}
+
+	}
+
+}
@@ -1,33 +1,36 @@
 package fm.pattern.tokamak.server.config;
 
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.util.StringUtils;
+
+import com.lambdaworks.redis.resource.ClientResources;
+import com.lambdaworks.redis.resource.DefaultClientResources;
+
+import fm.pattern.tokamak.server.repository.CircuitBreaker;
+import redis.clients.jedis.JedisPoolConfig;
 
 @Configuration
+@ConditionalOnProperty(name = "cache.provider", havingValue = "redis", matchIfMissing = true)
 public class RedisConfiguration {
 
 	private static final Integer CLIENT_DB_INDEX = 4;
 	private static final Integer ACCOUNT_DB_INDEX = 5;
 
-	@Primary
-	@Bean("clientConnectionFactory")
-	RedisConnectionFactory clientConnectionFactory() {
-		JedisConnectionFactory factory = new JedisConnectionFactory();
-		factory.setDatabase(CLIENT_DB_INDEX);
-		return factory;
-	}
+	@Value("${cache.breaker.failureThreshold:5}")
+	private Integer failureThreshold;
 
-	@Bean("accountConnectionFactory")
-	RedisConnectionFactory accountConnectionFactory() {
-		JedisConnectionFactory factory = new JedisConnectionFactory();
-		factory.setDatabase(ACCOUNT_DB_INDEX);
-		return factory;
-	}
+	@Value("${cache.breaker.openIntervalMillis:5000}")
+	private Long openIntervalMillis;
 
 	@Bean("clientRedisTemplate")
 	RedisTemplate<?, ?> clientRedisTemplate(@Qualifier("clientConnectionFactory") RedisConnectionFactory clientConnectionFactory) {
@@ -43,4 +46,146 @@ public class RedisConfiguration {
 		return template;
 	}
 
+	@Bean("clientCircuitBreaker")
+	CircuitBreaker clientCircuitBreaker() {
+		return new CircuitBreaker("clients", failureThreshold, openIntervalMillis);
+	}
+
+	@Bean("accountCircuitBreaker")
+	CircuitBreaker accountCircuitBreaker() {
+		return new CircuitBreaker("accounts", failureThreshold, openIntervalMillis);
+	}
+
+	static RedisClusterConfiguration clusterConfiguration(String nodes, Integer maxRedirects) {
+		RedisClusterConfiguration configuration = new RedisClusterConfiguration(StringUtils.commaDelimitedListToSet(nodes));
+		configuration.setMaxRedirects(maxRedirects);
+		return configuration;
+	}
+
+	@Configuration
+	@ConditionalOnProperty(name = "cache.redis.client", havingValue = "jedis", matchIfMissing = true)
+	static class JedisConfiguration {
+
+		@Value("${spring.redis.host:localhost}")
+		private String host;
+
+		@Value("${spring.redis.port:6379}")
+		private Integer port;
+
+		@Value("${cache.redis.timeoutMillis:2000}")
+		private Integer timeout;
+
+		@Value("${cache.redis.mode:standalone}")
+		private String mode;
+
+		@Value("${spring.redis.cluster.nodes:}")
+		private String nodes;
+
+		@Value("${spring.redis.cluster.max-redirects:5}")
+		private Integer maxRedirects;
+
+		@Value("${spring.redis.pool.max-active:8}")
+		private Integer maxActive;
+
+		@Value("${spring.redis.pool.max-idle:8}")
+		private Integer maxIdle;
+
+		@Value("${spring.redis.pool.min-idle:0}")
+		private Integer minIdle;
+
+		@Value("${spring.redis.pool.max-wait:-1}")
+		private Long maxWait;
+
+		@Primary
+		@Bean("clientConnectionFactory")
+		RedisConnectionFactory clientConnectionFactory() {
+			return connectionFactory(CLIENT_DB_INDEX);
+		}
+
+		@Bean("accountConnectionFactory")
+		RedisConnectionFactory accountConnectionFactory() {
+			return connectionFactory(ACCOUNT_DB_INDEX);
+		}
+
+		private JedisConnectionFactory connectionFactory(Integer database) {
+			JedisPoolConfig pool = new JedisPoolConfig();
+			pool.setMaxTotal(maxActive);
+			pool.setMaxIdle(maxIdle);
+			pool.setMinIdle(minIdle);
+			pool.setMaxWaitMillis(maxWait);
+
+			if ("cluster".equals(mode)) {
+				JedisConnectionFactory factory = new JedisConnectionFactory(clusterConfiguration(nodes, maxRedirects), pool);
+				factory.setTimeout(timeout);
+				return factory;
+			}
+
+			JedisConnectionFactory factory = new JedisConnectionFactory(pool);
+			factory.setHostName(host);
+			factory.setPort(port);
+			factory.setTimeout(timeout);
+			factory.setDatabase(database);
+			return factory;
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnProperty(name = "cache.redis.client", havingValue = "lettuce")
+	static class LettuceConfiguration {
+
+		@Value("${spring.redis.host:localhost}")
+		private String host;
+
+		@Value("${spring.redis.port:6379}")
+		private Integer port;
+
+		@Value("${cache.redis.timeoutMillis:2000}")
+		private Long timeout;
+
+		@Value("${cache.redis.mode:standalone}")
+		private String mode;
+
+		@Value("${spring.redis.cluster.nodes:}")
+		private String nodes;
+
+		@Value("${spring.redis.cluster.max-redirects:5}")
+		private Integer maxRedirects;
+
+		@Value("${cache.redis.lettuce.shareNativeConnection:true}")
+		private Boolean shareNativeConnection;
+
+		@Value("${cache.redis.lettuce.shutdownTimeoutMillis:100}")
+		private Long shutdownTimeout;
+
+		@Bean(destroyMethod = "shutdown")
+		ClientResources redisClientResources() {
+			return DefaultClientResources.create();
+		}
+
+		@Primary
+		@Bean("clientConnectionFactory")
+		RedisConnectionFactory clientConnectionFactory(ClientResources redisClientResources) {
+			return connectionFactory(redisClientResources, CLIENT_DB_INDEX);
+		}
+
+		@Bean("accountConnectionFactory")
+		RedisConnectionFactory accountConnectionFactory(ClientResources redisClientResources) {
+			return connectionFactory(redisClientResources, ACCOUNT_DB_INDEX);
+		}
+
+		private LettuceConnectionFactory connectionFactory(ClientResources resources, Integer database) {
+			LettuceConnectionFactory factory = "cluster".equals(mode) ? new LettuceConnectionFactory(clusterConfiguration(nodes, maxRedirects)) : new LettuceConnectionFactory(host, port);
+			factory.setClientResources(resources);
+			if (!"cluster".equals(mode)) {
+				factory.setDatabase(database);
+			}
+			factory.setTimeout(timeout);
+			factory.setShutdownTimeout(shutdownTimeout);
+			factory.setShareNativeConnection(shareNativeConnection);
+			return factory;
+		}
+
+	}
+
 }
@@ -1,6 +1,7 @@
 package fm.pattern.tokamak.server.conversion;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -42,9 +43,13 @@ public class AccountConversionService {
 		return new Account(representation.getUsername(), representation.getPassword(), roles);
 	}
 
+	public Account convert(AccountRepresentation representation, Map<String, Role> resolved) {
+		Set<Role> roles = representation.getRoles() == null ? new HashSet<Role>() : representation.getRoles().stream().map(role -> resolved.computeIfAbsent(role.getId(), id -> lookup(role))).filter(role -> role != null).collect(Collectors.toSet());
+		return new Account(representation.getUsername(), representation.getPassword(), roles);
+	}
+
 	public Account convert(AccountRepresentation representation, Account account) {
-		Set<Role> roles = representation.getRoles() == null ? new HashSet<Role>() : representation.getRoles().stream().map(role -> lookup(role)).filter(role -> role != null).collect(Collectors.toSet());
-		account.setRoles(roles);
+		Associations.update(account.getRoles(), representation.getRoles(), ids -> roleService.findExistingById(ids).getInstance());
 		return account;
 	}
 
@@ -0,0 +1,34 @@
+package fm.pattern.tokamak.server.conversion;
+
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import fm.pattern.tokamak.sdk.model.EntityRepresentation;
+import fm.pattern.tokamak.server.model.PersistentEntity;
+
+final class Associations {
+
+	private Associations() {
+
+	}
+
+	static <T extends PersistentEntity> Set<T> update(Set<T> current, Collection<? extends EntityRepresentation> requested, Function<List<String>, List<T>> lookup) {
+		Set<String> ids = requested == null ? new HashSet<>() : requested.stream().map(representation -> representation.getId()).filter(id -> isNotBlank(id)).collect(Collectors.toSet());
+
+		current.removeIf(entity -> !ids.contains(entity.getId()));
+		current.forEach(entity -> ids.remove(entity.getId()));
+
+		if (!ids.isEmpty()) {
+			current.addAll(lookup.apply(new ArrayList<>(ids)));
+		}
+		return current;
+	}
+
+}
@@ -85,15 +85,10 @@ public class ClientConversionService {
 	}
 
 	public Client convert(ClientRepresentation representation, Client client) {
-		Set<Scope> scopes = representation.getScopes() == null ? new HashSet<Scope>() : new HashSet<Scope>(scopeService.findExistingById(representation.getScopes().stream().map(i -> i.getId()).collect(Collectors.toList())).getInstance());
-		Set<GrantType> grantTypes = representation.getGrantTypes() == null ? new HashSet<GrantType>() : new HashSet<GrantType>(grantTypeService.findExistingById(representation.getGrantTypes().stream().map(i -> i.getId()).collect(Collectors.toList())).getInstance());
-		Set<Authority> authorities = representation.getAuthorities() == null ? new HashSet<Authority>() : new HashSet<Authority>(authorityService.findExistingById(representation.getAuthorities().stream().map(i -> i.getId()).collect(Collectors.toList())).getInstance());
-		Set<Audience> audiences = representation.getAudiences() == null ? new HashSet<Audience>() : new HashSet<Audience>(audienceService.findExistingById(representation.getAudiences().stream().map(i -> i.getId()).collect(Collectors.toList())).getInstance());
-
-		client.setScopes(scopes);
-		client.setGrantTypes(grantTypes);
-		client.setAuthorities(authorities);
-		client.setAudiences(audiences);
+		Associations.update(client.getScopes(), representation.getScopes(), ids -> scopeService.findExistingById(ids).getInstance());
+		Associations.update(client.getGrantTypes(), representation.getGrantTypes(), ids -> grantTypeService.findExistingById(ids).getInstance());
+		Associations.update(client.getAuthorities(), representation.getAuthorities(), ids -> authorityService.findExistingById(ids).getInstance());
+		Associations.update(client.getAudiences(), representation.getAudiences(), ids -> audienceService.findExistingById(ids).getInstance());
 
 		client.setName(representation.getName());
 		client.setDescription(representation.getDescription());
@@ -14,6 +14,8 @@ public class CriteriaConversionService {
 		representation.setTo(criteria.hasTo() ? criteria.getTo().getTime() : null);
 		representation.setPage(criteria.getPage());
 		representation.setLimit(criteria.getLimit());
+		representation.setCursor(criteria.getCursor());
+		representation.setTotal(criteria.getTotalCount().name().toLowerCase());
 		return representation;
 	}
 
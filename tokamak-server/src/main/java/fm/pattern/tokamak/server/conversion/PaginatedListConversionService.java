@@ -20,8 +20,11 @@ public class PaginatedListConversionService {
 		PaginatedListRepresentation<C> representation = new PaginatedListRepresentation<>();
 		representation.setCriteria(criteriaConversionService.convert(list.getCriteria()));
 		representation.setTotal(list.getTotal());
-		representation.setRemaining(list.getRemainingResults());
-		representation.setPages(list.getTotalPages());
+		representation.setNext(list.getNext());
+		if (!list.getCriteria().hasCursor()) {
+			representation.setRemaining(list.getRemainingResults());
+			representation.setPages(list.getTotalPages());
+		}
 		return representation;
 	}
 
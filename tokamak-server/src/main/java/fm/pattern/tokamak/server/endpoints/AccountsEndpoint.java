@@ -16,48 +16,88 @@
 
 package fm.pattern.tokamak.server.endpoints;
 
+import static fm.pattern.tokamak.server.endpoints.ExportWriter.CSV_VALUE;
+import static fm.pattern.tokamak.server.endpoints.ExportWriter.NDJSON_VALUE;
 import static fm.pattern.tokamak.server.repository.Criteria.criteria;
+import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.web.bind.annotation.RequestMethod.DELETE;
 import static org.springframework.web.bind.annotation.RequestMethod.GET;
+import static org.springframework.web.bind.annotation.RequestMethod.PATCH;
 import static org.springframework.web.bind.annotation.RequestMethod.POST;
 import static org.springframework.web.bind.annotation.RequestMethod.PUT;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import fm.pattern.tokamak.authorization.Authorize;
 import fm.pattern.tokamak.authorization.OAuth2AuthorizationContext;
+import fm.pattern.tokamak.sdk.commons.LookupsRepresentation;
 import fm.pattern.tokamak.sdk.commons.PaginatedListRepresentation;
+import fm.pattern.tokamak.sdk.model.AccountImportRepresentation;
 import fm.pattern.tokamak.sdk.model.AccountRepresentation;
 import fm.pattern.tokamak.sdk.model.SecretsRepresentation;
 import fm.pattern.tokamak.server.conversion.AccountConversionService;
 import fm.pattern.tokamak.server.conversion.PaginatedListConversionService;
 import fm.pattern.tokamak.server.model.Account;
+import fm.pattern.tokamak.server.model.Role;
 import fm.pattern.tokamak.server.repository.PaginatedList;
+import fm.pattern.tokamak.server.repository.RepresentationCache;
+import fm.pattern.tokamak.server.service.AccountImportService;
 import fm.pattern.tokamak.server.service.AccountService;
+import fm.pattern.tokamak.server.service.ExportService;
+import fm.pattern.valex.Result;
 
 @RestController
 public class AccountsEndpoint extends Endpoint {
 
 	private final AccountService accountService;
+	private final AccountImportService accountImportService;
+	private final ExportService exportService;
 	private final AccountConversionService accountConversionService;
 	private final PaginatedListConversionService paginatedListConversionService;
+	private final ObjectMapper objectMapper;
+	private final RepresentationCache representationCache;
+	private final Integer importBatchSize;
 
 	@Autowired
-	public AccountsEndpoint(AccountService accountService, AccountConversionService accountConversionService, PaginatedListConversionService paginatedListConversionService) {
+	public AccountsEndpoint(AccountService accountService, AccountImportService accountImportService, ExportService exportService, AccountConversionService accountConversionService, PaginatedListConversionService paginatedListConversionService, ObjectMapper objectMapper, RepresentationCache representationCache, @Value("${accounts.import.batchSize:500}") Integer importBatchSize) {
 		this.accountService = accountService;
+		this.accountImportService = accountImportService;
+		this.exportService = exportService;
 		this.accountConversionService = accountConversionService;
 		this.paginatedListConversionService = paginatedListConversionService;
+		this.objectMapper = objectMapper;
+		this.representationCache = representationCache;
+		this.importBatchSize = importBatchSize;
 	}
 
 	@Authorize(scopes = "accounts:create")
@@ -66,7 +106,45 @@ public class AccountsEndpoint extends Endpoint {
 	public AccountRepresentation create(@RequestBody AccountRepresentation representation) {
 		Account account = accountConversionService.convert(representation);
 		Account created = accountService.create(account).orThrow();
-		return accountConversionService.convert(accountService.findById(created.getId()).orThrow());
+		return accountConversionService.convert(created);
+	}
+
+	@Authorize(scopes = "accounts:create")
+	@RequestMapping(value = "/v1/accounts/import", method = POST, consumes = NDJSON_VALUE, produces = NDJSON_VALUE)
+	public void importAccounts(@RequestParam(required = false, defaultValue = "false") Boolean prehashed, HttpServletRequest request, HttpServletResponse response) throws IOException {
+		response.setContentType(NDJSON_VALUE);
+
+		BufferedReader reader = request.getReader();
+		OutputStream out = response.getOutputStream();
+
+		List<AccountImportRepresentation> rows = new ArrayList<>(importBatchSize);
+		List<Account> accounts = new ArrayList<>(importBatchSize);
+		Map<String, Role> roles = new HashMap<>();
+
+		int line = 0;
+		String json;
+		while ((json = reader.readLine()) != null) {
+			line++;
+			if (isBlank(json)) {
+				continue;
+			}
+
+			AccountImportRepresentation row = new AccountImportRepresentation(line);
+			try {
+				AccountRepresentation representation = objectMapper.readValue(json, AccountRepresentation.class);
+				row.setUsername(representation.getUsername());
+				accounts.add(accountConversionService.convert(representation, roles));
+			}
+			catch (JsonProcessingException e) {
+				row.setErrors(convert(Result.reject("account.import.malformed", line, e.getOriginalMessage()).getErrors()));
+			}
+			rows.add(row);
+
+			if (accounts.size() == importBatchSize) {
+				importBatch(rows, accounts, prehashed, out);
+			}
+		}
+		importBatch(rows, accounts, prehashed, out);
 	}
 
 	@Authorize(scopes = "accounts:update")
@@ -74,7 +152,16 @@ public class AccountsEndpoint extends Endpoint {
 	public AccountRepresentation update(@PathVariable String id, @RequestBody AccountRepresentation representation) {
 		Account account = accountConversionService.convert(representation, accountService.findById(id).orThrow());
 		Account updated = accountService.update(account).orThrow();
-		return accountConversionService.convert(accountService.findById(updated.getId()).orThrow());
+		return accountConversionService.convert(updated);
+	}
+
+	@Authorize(scopes = "accounts:update")
+	@RequestMapping(value = "/v1/accounts/{id}", method = PATCH, consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+	public AccountRepresentation patch(@PathVariable String id, @RequestBody JsonNode patch) {
+		Account account = accountService.findById(id).orThrow();
+		AccountRepresentation representation = patch(objectMapper, accountConversionService.convert(account), patch);
+		Account updated = accountService.update(accountConversionService.convert(representation, account)).orThrow();
+		return accountConversionService.convert(updated);
 	}
 
 	@Authorize(scopes = "accounts:update", roles = "tokamak:admin,tokamak:user")
@@ -85,12 +172,12 @@ public class AccountsEndpoint extends Endpoint {
 		if (roles.contains("tokamak:admin")) {
 			Account account = accountService.findById(id).orThrow();
 			Account updated = accountService.updatePassword(account, representation.getNewSecret()).orThrow();
-			return accountConversionService.convert(accountService.findById(updated.getId()).orThrow());
+			return accountConversionService.convert(updated);
 		}
 
 		Account account = accountService.findByUsername(new OAuth2AuthorizationContext().getUsername()).orThrow();
 		Account updated = accountService.updatePassword(account, representation.getCurrentSecret(), representation.getNewSecret()).orThrow();
-		return accountConversionService.convert(accountService.findById(updated.getId()).orThrow());
+		return accountConversionService.convert(updated);
 	}
 
 	@Authorize(scopes = "accounts:delete")
@@ -101,22 +188,60 @@ public class AccountsEndpoint extends Endpoint {
 		accountService.delete(account).orThrow();
 	}
 
+	@Authorize(scopes = "accounts:read")
+	@RequestMapping(value = "/v1/accounts/batch", method = GET, produces = APPLICATION_JSON_VALUE)
+	public LookupsRepresentation<AccountRepresentation> findAllByUsername(@RequestParam(required = false) List<String> usernames) {
+		Map<String, Account> accounts = accountService.findAllByUsername(usernames).orThrow();
+		return lookups(usernames, accounts, account -> accountConversionService.convert(account));
+	}
+
 	@Authorize(scopes = "accounts:read")
 	@RequestMapping(value = "/v1/accounts/{id}", method = GET, produces = APPLICATION_JSON_VALUE)
-	public AccountRepresentation findById(@PathVariable String id) {
-		return accountConversionService.convert(accountService.findById(id).orThrow());
+	public ResponseEntity<byte[]> findById(@PathVariable String id, WebRequest request) {
+		Account account = accountService.findById(id).orThrow();
+		return conditional(request, representationCache.getETag(account), null, () -> serialized(representationCache.get(account, () -> accountConversionService.convert(account))));
 	}
 
 	@Authorize(scopes = "accounts:read")
 	@RequestMapping(value = "/v1/accounts/username/{username}", method = GET, produces = APPLICATION_JSON_VALUE)
-	public AccountRepresentation findByUsername(@PathVariable String username) {
-		return accountConversionService.convert(accountService.findByUsername(username).orThrow());
+	public ResponseEntity<byte[]> findByUsername(@PathVariable String username, WebRequest request) {
+		Account account = accountService.findByUsername(username).orThrow();
+		return conditional(request, representationCache.getETag(account), null, () -> serialized(representationCache.get(account, () -> accountConversionService.convert(account))));
+	}
+
+	@Authorize(scopes = "accounts:read")
+	@RequestMapping(value = "/v1/accounts/export", method = GET, produces = { NDJSON_VALUE, CSV_VALUE })
+	public void export(@RequestParam(required = false, defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+		ExportWriter writer = ExportWriter.open(format, response, objectMapper);
+		exportService.exportAccounts(writer);
+		writer.close();
+	}
+
+	private void importBatch(List<AccountImportRepresentation> rows, List<Account> accounts, boolean prehashed, OutputStream out) throws IOException {
+		Iterator<Result<Account>> results = accounts.isEmpty() ? Collections.emptyIterator() : accountImportService.importAccounts(accounts, prehashed).iterator();
+		for (AccountImportRepresentation row : rows) {
+			if (row.getErrors() == null) {
+				Result<Account> result = results.next();
+				if (result.accepted()) {
+					row.setId(result.getInstance().getId());
+				}
+				else {
+					row.setErrors(convert(result.getErrors()));
+				}
+			}
+			out.write(objectMapper.writeValueAsBytes(row));
+			out.write('\n');
+		}
+		out.flush();
+
+		rows.clear();
+		accounts.clear();
 	}
 
 	@Authorize(scopes = "accounts:read")
 	@RequestMapping(value = "/v1/accounts", method = GET, produces = APPLICATION_JSON_VALUE)
-	public PaginatedListRepresentation<AccountRepresentation> list(@RequestParam(required = false) Integer page, @RequestParam(required = false) Integer limit) {
-		PaginatedList<Account> accounts = (PaginatedList<Account>) accountService.list(criteria().page(page).limit(limit)).orThrow();
+	public PaginatedListRepresentation<AccountRepresentation> list(@RequestParam(required = false) Integer page, @RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor, @RequestParam(required = false) String total) {
+		PaginatedList<Account> accounts = (PaginatedList<Account>) accountService.list(criteria().page(page).limit(limit).cursor(cursor).total(total)).orThrow();
 		PaginatedListRepresentation<AccountRepresentation> representation = paginatedListConversionService.convert(accounts, AccountRepresentation.class);
 		return representation.withPayload(accounts.stream().map(a -> accountConversionService.convert(a)).collect(Collectors.toList()));
 	}
@@ -32,6 +32,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import fm.pattern.tokamak.authorization.Authorize;
 import fm.pattern.tokamak.sdk.model.AudienceRepresentation;
@@ -58,7 +59,7 @@ public class AudiencesEndpoint extends Endpoint {
 	public AudienceRepresentation create(@RequestBody AudienceRepresentation representation) {
 		Audience audience = converter.convert(representation);
 		Audience created = audienceService.create(audience).orThrow();
-		return converter.convert(audienceService.findById(created.getId()).orThrow());
+		return converter.convert(created);
 	}
 
 	@Authorize(scopes = "audiences:update")
@@ -78,23 +79,32 @@ public class AudiencesEndpoint extends Endpoint {
 
 	@Authorize(scopes = "audiences:read")
 	@RequestMapping(value = "/v1/audiences/{id}", method = GET, produces = APPLICATION_JSON_VALUE)
-	public AudienceRepresentation findById(@PathVariable String id) {
+	public AudienceRepresentation findById(@PathVariable String id, WebRequest request) {
 		Audience audience = audienceService.findById(id).orThrow();
-		return converter.convert(audience);
+		return conditional(request, audience, () -> converter.convert(audience));
 	}
 
 	@Authorize(scopes = "audiences:read")
 	@RequestMapping(value = "/v1/audiences/name/{name}", method = GET, produces = APPLICATION_JSON_VALUE)
-	public AudienceRepresentation findByName(@PathVariable String name) {
+	public AudienceRepresentation findByName(@PathVariable String name, WebRequest request) {
 		Audience audience = audienceService.findByName(name).orThrow();
-		return converter.convert(audience);
+		return conditional(request, audience, () -> converter.convert(audience));
 	}
 
 	@Authorize(scopes = "audiences:read")
 	@RequestMapping(value = "/v1/audiences", method = GET, produces = APPLICATION_JSON_VALUE)
-	public AudiencesRepresentation list() {
-		List<Audience> audiences = audienceService.list().orThrow();
-		return new AudiencesRepresentation(audiences.stream().map(audience -> converter.convert(audience)).collect(Collectors.toList()));
+	public AudiencesRepresentation list(WebRequest request) {
+		return conditional(request, audienceService.version().orThrow(), () -> {
+			List<Audience> audiences = audienceService.list().orThrow();
+			return new AudiencesRepresentation(audiences.stream().map(audience -> converter.convert(audience)).collect(Collectors.toList()));
+		});
+	}
+
+	@Authorize(scopes = "audiences:create")
+	@RequestMapping(value = "/v1/audiences", method = PUT, consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+	public AudiencesRepresentation upsert(@RequestBody AudiencesRepresentation representation) {
+		List<Audience> audiences = representation.getAudiences().stream().map(audience -> audienceConversionService.convert(audience)).collect(Collectors.toList());
+		return new AudiencesRepresentation(audienceService.upsert(audiences).orThrow().stream().map(audience -> audienceConversionService.convert(audience)).collect(Collectors.toList()));
 	}
 
 }
@@ -32,6 +32,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import fm.pattern.tokamak.authorization.Authorize;
 import fm.pattern.tokamak.sdk.model.AuthoritiesRepresentation;
@@ -58,7 +59,7 @@ public class AuthoritiesEndpoint extends Endpoint {
 	public AuthorityRepresentation create(@RequestBody AuthorityRepresentation representation) {
 		Authority authority = converter.convert(representation);
 		Authority created = authorityService.create(authority).orThrow();
-		return converter.convert(authorityService.findById(created.getId()).orThrow());
+		return converter.convert(created);
 	}
 
 	@Authorize(scopes = "authorities:update")
@@ -78,23 +79,32 @@ public class AuthoritiesEndpoint extends Endpoint {
 
 	@Authorize(scopes = "authorities:read")
 	@RequestMapping(value = "/v1/authorities/{id}", method = GET, produces = APPLICATION_JSON_VALUE)
-	public AuthorityRepresentation findById(@PathVariable String id) {
+	public AuthorityRepresentation findById(@PathVariable String id, WebRequest request) {
 		Authority authority = authorityService.findById(id).orThrow();
-		return converter.convert(authority);
+		return conditional(request, authority, () -> converter.convert(authority));
 	}
 
 	@Authorize(scopes = "authorities:read")
 	@RequestMapping(value = "/v1/authorities/name/{name}", method = GET, produces = APPLICATION_JSON_VALUE)
-	public AuthorityRepresentation findByName(@PathVariable String name) {
+	public AuthorityRepresentation findByName(@PathVariable String name, WebRequest request) {
 		Authority authority = authorityService.findByName(name).orThrow();
-		return converter.convert(authority);
+		return conditional(request, authority, () -> converter.convert(authority));
 	}
 
 	@Authorize(scopes = "authorities:read")
 	@RequestMapping(value = "/v1/authorities", method = GET, produces = APPLICATION_JSON_VALUE)
-	public AuthoritiesRepresentation list() {
-		List<Authority> authorities = authorityService.list().orThrow();
-		return new AuthoritiesRepresentation(authorities.stream().map(authority -> converter.convert(authority)).collect(Collectors.toList()));
+	public AuthoritiesRepresentation list(WebRequest request) {
+		return conditional(request, authorityService.version().orThrow(), () -> {
+			List<Authority> authorities = authorityService.list().orThrow();
+			return new AuthoritiesRepresentation(authorities.stream().map(authority -> converter.convert(authority)).collect(Collectors.toList()));
+		});
+	}
+
+	@Authorize(scopes = "authorities:create")
+	@RequestMapping(value = "/v1/authorities", method = PUT, consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+	public AuthoritiesRepresentation upsert(@RequestBody AuthoritiesRepresentation representation) {
+		List<Authority> authorities = representation.getAuthorities().stream().map(authority -> authorityConversionService.convert(authority)).collect(Collectors.toList());
+		return new AuthoritiesRepresentation(authorityService.upsert(authorities).orThrow().stream().map(authority -> authorityConversionService.convert(authority)).collect(Collectors.toList()));
 	}
 
 }
@@ -16,27 +16,41 @@
 
 package fm.pattern.tokamak.server.endpoints;
 
+import static fm.pattern.tokamak.server.endpoints.ExportWriter.CSV_VALUE;
+import static fm.pattern.tokamak.server.endpoints.ExportWriter.NDJSON_VALUE;
 import static fm.pattern.tokamak.server.repository.Criteria.criteria;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.web.bind.annotation.RequestMethod.DELETE;
 import static org.springframework.web.bind.annotation.RequestMethod.GET;
+import static org.springframework.web.bind.annotation.RequestMethod.PATCH;
 import static org.springframework.web.bind.annotation.RequestMethod.POST;
 import static org.springframework.web.bind.annotation.RequestMethod.PUT;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import fm.pattern.tokamak.authorization.Authorize;
 import fm.pattern.tokamak.authorization.OAuth2AuthorizationContext;
+import fm.pattern.tokamak.sdk.commons.LookupsRepresentation;
 import fm.pattern.tokamak.sdk.commons.PaginatedListRepresentation;
 import fm.pattern.tokamak.sdk.model.ClientRepresentation;
 import fm.pattern.tokamak.sdk.model.SecretsRepresentation;
@@ -44,7 +58,9 @@ import fm.pattern.tokamak.server.conversion.ClientConversionService;
 import fm.pattern.tokamak.server.conversion.PaginatedListConversionService;
 import fm.pattern.tokamak.server.model.Client;
 import fm.pattern.tokamak.server.repository.PaginatedList;
+import fm.pattern.tokamak.server.repository.RepresentationCache;
 import fm.pattern.tokamak.server.service.ClientService;
+import fm.pattern.tokamak.server.service.ExportService;
 
 @RestController
 public class ClientsEndpoint extends Endpoint {
@@ -52,12 +68,18 @@ public class ClientsEndpoint extends Endpoint {
 	private final ClientService clientService;
 	private final ClientConversionService clientConversionService;
 	private final PaginatedListConversionService paginatedListConversionService;
+	private final ExportService exportService;
+	private final ObjectMapper objectMapper;
+	private final RepresentationCache representationCache;
 
 	@Autowired
-	public ClientsEndpoint(ClientService clientService, ClientConversionService clientConversionService, PaginatedListConversionService paginatedListConversionService) {
+	public ClientsEndpoint(ClientService clientService, ClientConversionService clientConversionService, PaginatedListConversionService paginatedListConversionService, ExportService exportService, ObjectMapper objectMapper, RepresentationCache representationCache) {
 		this.clientService = clientService;
 		this.clientConversionService = clientConversionService;
 		this.paginatedListConversionService = paginatedListConversionService;
+		this.exportService = exportService;
+		this.objectMapper = objectMapper;
+		this.representationCache = representationCache;
 	}
 
 	@Authorize(scopes = "clients:create")
@@ -66,7 +88,7 @@ public class ClientsEndpoint extends Endpoint {
 	public ClientRepresentation create(@RequestBody ClientRepresentation representation) {
 		Client client = clientConversionService.convert(representation);
 		Client created = clientService.create(client).orThrow();
-		return clientConversionService.convert(clientService.findById(created.getId()).orThrow());
+		return clientConversionService.convert(created);
 	}
 
 	@Authorize(scopes = "clients:update")
@@ -74,7 +96,16 @@ public class ClientsEndpoint extends Endpoint {
 	public ClientRepresentation update(@PathVariable String id, @RequestBody ClientRepresentation representation) {
 		Client client = clientConversionService.convert(representation, clientService.findById(id).orThrow());
 		Client updated = clientService.update(client).orThrow();
-		return clientConversionService.convert(clientService.findById(updated.getId()).orThrow());
+		return clientConversionService.convert(updated);
+	}
+
+	@Authorize(scopes = "clients:update")
+	@RequestMapping(value = "/v1/clients/{id}", method = PATCH, consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+	public ClientRepresentation patch(@PathVariable String id, @RequestBody JsonNode patch) {
+		Client client = clientService.findById(id).orThrow();
+		ClientRepresentation representation = patch(objectMapper, clientConversionService.convert(client), patch);
+		Client updated = clientService.update(clientConversionService.convert(representation, client)).orThrow();
+		return clientConversionService.convert(updated);
 	}
 
 	@Authorize(scopes = "clients:update", roles = "tokamak:admin,tokamak:user")
@@ -85,11 +116,11 @@ public class ClientsEndpoint extends Endpoint {
 		
 		if (roles.contains("tokamak:admin")) {
 			Client updated = clientService.updateClientSecret(client, representation.getNewSecret()).orThrow();
-			return clientConversionService.convert(clientService.findById(updated.getId()).orThrow());
+			return clientConversionService.convert(updated);
 		}
 
 		Client updated = clientService.updateClientSecret(client, representation.getCurrentSecret(), representation.getNewSecret()).orThrow();
-		return clientConversionService.convert(clientService.findById(updated.getId()).orThrow());
+		return clientConversionService.convert(updated);
 	}
 
 	@Authorize(scopes = "clients:delete")
@@ -100,18 +131,34 @@ public class ClientsEndpoint extends Endpoint {
 		clientService.delete(client).orThrow();
 	}
 
+	@Authorize(scopes = "clients:read")
+	@RequestMapping(value = "/v1/clients/batch", method = GET, produces = APPLICATION_JSON_VALUE)
+	public LookupsRepresentation<ClientRepresentation> findAllById(@RequestParam(required = false) List<String> ids) {
+		Map<String, Client> clients = clientService.findAllById(ids).orThrow();
+		return lookups(ids, clients, client -> clientConversionService.convert(client));
+	}
+
 	@Authorize(scopes = "clients:read")
 	@RequestMapping(value = "/v1/clients/{id}", method = GET, produces = APPLICATION_JSON_VALUE)
-	public ClientRepresentation findById(@PathVariable String id) {
-		return clientConversionService.convert(clientService.findById(id).orThrow());
+	public ResponseEntity<byte[]> findById(@PathVariable String id, WebRequest request) {
+		Client client = clientService.findById(id).orThrow();
+		return conditional(request, representationCache.getETag(client), null, () -> serialized(representationCache.get(client, () -> clientConversionService.convert(client))));
 	}
 
 	@Authorize(scopes = "clients:read")
 	@RequestMapping(value = "/v1/clients", method = GET, produces = APPLICATION_JSON_VALUE)
-	public PaginatedListRepresentation<ClientRepresentation> list(@RequestParam(required = false) Integer page, @RequestParam(required = false) Integer limit) {
-		PaginatedList<Client> clients = (PaginatedList<Client>) clientService.list(criteria().page(page).limit(limit)).orThrow();
+	public PaginatedListRepresentation<ClientRepresentation> list(@RequestParam(required = false) Integer page, @RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor, @RequestParam(required = false) String total) {
+		PaginatedList<Client> clients = (PaginatedList<Client>) clientService.list(criteria().page(page).limit(limit).cursor(cursor).total(total)).orThrow();
 		PaginatedListRepresentation<ClientRepresentation> representation = paginatedListConversionService.convert(clients, ClientRepresentation.class);
 		return representation.withPayload(clients.stream().map(a -> clientConversionService.convert(a)).collect(Collectors.toList()));
 	}
 
+	@Authorize(scopes = "clients:read")
+	@RequestMapping(value = "/v1/clients/export", method = GET, produces = { NDJSON_VALUE, CSV_VALUE })
+	public void export(@RequestParam(required = false, defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+		ExportWriter writer = ExportWriter.open(format, response, objectMapper);
+		exportService.exportClients(writer);
+		writer.close();
+	}
+
 }
@@ -16,24 +16,43 @@
 
 package fm.pattern.tokamak.server.endpoints;
 
+import java.io.IOException;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import fm.pattern.tokamak.sdk.commons.ErrorRepresentation;
 import fm.pattern.tokamak.sdk.commons.ErrorsRepresentation;
+import fm.pattern.tokamak.sdk.commons.LookupRepresentation;
+import fm.pattern.tokamak.sdk.commons.LookupsRepresentation;
+import fm.pattern.tokamak.server.model.PersistentEntity;
+import fm.pattern.tokamak.server.repository.CollectionVersion;
+import fm.pattern.tokamak.server.repository.RepresentationCache.Serialized;
 import fm.pattern.valex.AuthenticationException;
 import fm.pattern.valex.AuthorizationException;
 import fm.pattern.valex.EntityNotFoundException;
 import fm.pattern.valex.InternalErrorException;
+import fm.pattern.valex.Reportable;
 import fm.pattern.valex.ReportableException;
 import fm.pattern.valex.ResourceConflictException;
+import fm.pattern.valex.Result;
 import fm.pattern.valex.UnprocessableEntityException;
 
 @RestController
@@ -75,9 +94,42 @@ public class Endpoint {
 		return convert(exception);
 	}
 
+	protected <T> T patch(ObjectMapper objectMapper, T representation, JsonNode patch) {
+		try {
+			return objectMapper.readerForUpdating(representation).readValue(patch);
+		}
+		catch (IOException e) {
+			return Result.<T> reject("patch.invalid", e instanceof JsonProcessingException ? ((JsonProcessingException) e).getOriginalMessage() : e.getMessage()).orThrow();
+		}
+	}
+
+	protected <T> T conditional(WebRequest request, String eTag, Date lastModified, Supplier<T> body) {
+		return request.checkNotModified(eTag, lastModified == null ? -1 : lastModified.getTime()) ? null : body.get();
+	}
+
+	protected <T> T conditional(WebRequest request, PersistentEntity entity, Supplier<T> body) {
+		return conditional(request, "\"" + Long.toHexString(entity.getUpdated().getTime()) + "\"", entity.getUpdated(), body);
+	}
+
+	protected <T> T conditional(WebRequest request, CollectionVersion version, Supplier<T> body) {
+		return conditional(request, version.getETag(), null, body);
+	}
+
+	protected ResponseEntity<byte[]> serialized(Serialized representation) {
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON_UTF8).body(representation.getBody());
+	}
+
+	protected <E, R> LookupsRepresentation<R> lookups(List<String> keys, Map<String, E> found, Function<E, R> converter) {
+		List<LookupRepresentation<R>> results = keys.stream().distinct().map(key -> found.containsKey(key) ? new LookupRepresentation<R>(key, HttpStatus.OK.value(), converter.apply(found.get(key))) : new LookupRepresentation<R>(key, HttpStatus.NOT_FOUND.value(), null)).collect(Collectors.toList());
+		return new LookupsRepresentation<R>(results);
+	}
+
+	protected List<ErrorRepresentation> convert(List<Reportable> errors) {
+		return errors.stream().map(e -> new ErrorRepresentation(e.getCode(), e.getMessage())).collect(Collectors.toList());
+	}
+
 	private ErrorsRepresentation convert(ReportableException exception) {
-		List<ErrorRepresentation> errors = exception.getErrors().stream().map(e -> new ErrorRepresentation(e.getCode(), e.getMessage())).collect(Collectors.toList());
-		return new ErrorsRepresentation(errors);
+		return new ErrorsRepresentation(convert(exception.getErrors()));
 	}
 
 }
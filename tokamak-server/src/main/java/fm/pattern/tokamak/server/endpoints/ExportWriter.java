@@ -0,0 +1,86 @@
+package fm.pattern.tokamak.server.endpoints;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import javax.servlet.http.HttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import fm.pattern.valex.Result;
+
+class ExportWriter implements Consumer<Map<String, Object>> {
+
+	static final String NDJSON_VALUE = "application/x-ndjson";
+	static final String CSV_VALUE = "text/csv";
+
+	private final boolean csv;
+	private final OutputStream out;
+	private final ObjectMapper objectMapper;
+	private boolean header = false;
+
+	private ExportWriter(boolean csv, OutputStream out, ObjectMapper objectMapper) {
+		this.csv = csv;
+		this.out = out;
+		this.objectMapper = objectMapper;
+	}
+
+	static ExportWriter open(String format, HttpServletResponse response, ObjectMapper objectMapper) throws IOException {
+		if (!"ndjson".equalsIgnoreCase(format) && !"csv".equalsIgnoreCase(format)) {
+			Result.reject("export.format.invalid", format).orThrow();
+		}
+
+		boolean csv = "csv".equalsIgnoreCase(format);
+		response.setContentType(csv ? CSV_VALUE : NDJSON_VALUE);
+		response.setCharacterEncoding("UTF-8");
+		return new ExportWriter(csv, response.getOutputStream(), objectMapper);
+	}
+
+	public void accept(Map<String, Object> row) {
+		try {
+			if (!csv) {
+				out.write(objectMapper.writeValueAsBytes(row));
+				out.write('\n');
+				return;
+			}
+
+			if (!header) {
+				line(row.keySet());
+				header = true;
+			}
+			line(row.values());
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	void close() throws IOException {
+		out.flush();
+	}
+
+	private void line(Collection<?> values) throws IOException {
+		String line = values.stream().map(value -> escape(value)).collect(Collectors.joining(","));
+		out.write(line.getBytes(StandardCharsets.UTF_8));
+		out.write('\n');
+	}
+
+	private static String escape(Object value) {
+		if (value == null) {
+			return "";
+		}
+
+		String text = value.toString();
+		if (text.indexOf(',') == -1 && text.indexOf('"') == -1 && text.indexOf('\n') == -1 && text.indexOf('\r') == -1) {
+			return text;
+		}
+		return "\"" + text.replace("\"", "\"\"") + "\"";
+	}
+
+}
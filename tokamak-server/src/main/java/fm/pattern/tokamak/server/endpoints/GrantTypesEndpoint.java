@@ -26,6 +26,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import fm.pattern.tokamak.authorization.Authorize;
 import fm.pattern.tokamak.sdk.model.GrantTypeRepresentation;
@@ -48,23 +49,25 @@ public class GrantTypesEndpoint extends Endpoint {
 
 	@Authorize(scopes = "grant_types:read")
 	@RequestMapping(value = "/v1/grant_types/{id}", method = GET, produces = APPLICATION_JSON_VALUE)
-	public GrantTypeRepresentation findById(@PathVariable String id) {
+	public GrantTypeRepresentation findById(@PathVariable String id, WebRequest request) {
 		GrantType grantType = grantTypeService.findById(id).orThrow();
-		return grantTypeConversionService.convert(grantType);
+		return conditional(request, grantType, () -> grantTypeConversionService.convert(grantType));
 	}
 
 	@Authorize(scopes = "grant_types:read")
 	@RequestMapping(value = "/v1/grant_types/name/{name}", method = GET, produces = APPLICATION_JSON_VALUE)
-	public GrantTypeRepresentation findByName(@PathVariable String name) {
+	public GrantTypeRepresentation findByName(@PathVariable String name, WebRequest request) {
 		GrantType grantType = grantTypeService.findByName(name).orThrow();
-		return grantTypeConversionService.convert(grantType);
+		return conditional(request, grantType, () -> grantTypeConversionService.convert(grantType));
 	}
 
 	@Authorize(scopes = "grant_types:read")
 	@RequestMapping(value = "/v1/grant_types", method = GET, produces = APPLICATION_JSON_VALUE)
-	public GrantTypesRepresentation list() {
-		List<GrantType> grantTypes = grantTypeService.list().orThrow();
-		return new GrantTypesRepresentation(grantTypes.stream().map(grant -> grantTypeConversionService.convert(grant)).collect(Collectors.toList()));
+	public GrantTypesRepresentation list(WebRequest request) {
+		return conditional(request, grantTypeService.version().orThrow(), () -> {
+			List<GrantType> grantTypes = grantTypeService.list().orThrow();
+			return new GrantTypesRepresentation(grantTypes.stream().map(grant -> grantTypeConversionService.convert(grant)).collect(Collectors.toList()));
+		});
 	}
 
 }
@@ -31,6 +31,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import fm.pattern.tokamak.authorization.Authorize;
 import fm.pattern.tokamak.sdk.model.PasswordPoliciesRepresentation;
@@ -57,7 +58,7 @@ public class PasswordPoliciesEndpoint extends Endpoint {
 	public PasswordPolicyRepresentation create(@RequestBody PasswordPolicyRepresentation representation) {
 		PasswordPolicy policy = converter.convert(representation);
 		PasswordPolicy created = policyService.create(policy).orThrow();
-		return converter.convert(policyService.findById(created.getId()).orThrow());
+		return converter.convert(created);
 	}
 
 	@Authorize(scopes = "policies:update")
@@ -69,23 +70,25 @@ public class PasswordPoliciesEndpoint extends Endpoint {
 
 	@Authorize(scopes = "policies:read")
 	@RequestMapping(value = "/v1/policies/{id}", method = GET, produces = APPLICATION_JSON_VALUE)
-	public PasswordPolicyRepresentation findById(@PathVariable String id) {
+	public PasswordPolicyRepresentation findById(@PathVariable String id, WebRequest request) {
 		PasswordPolicy policy = policyService.findById(id).orThrow();
-		return converter.convert(policy);
+		return conditional(request, policy, () -> converter.convert(policy));
 	}
 
 	@Authorize(scopes = "policies:read")
 	@RequestMapping(value = "/v1/policies/name/{name}", method = GET, produces = APPLICATION_JSON_VALUE)
-	public PasswordPolicyRepresentation findByName(@PathVariable String name) {
+	public PasswordPolicyRepresentation findByName(@PathVariable String name, WebRequest request) {
 		PasswordPolicy policy = policyService.findByName(name).orThrow();
-		return converter.convert(policy);
+		return conditional(request, policy, () -> converter.convert(policy));
 	}
 
 	@Authorize(scopes = "policies:read")
 	@RequestMapping(value = "/v1/policies", method = GET, produces = APPLICATION_JSON_VALUE)
-	public PasswordPoliciesRepresentation list() {
-		List<PasswordPolicy> policies = policyService.list().orThrow();
-		return new PasswordPoliciesRepresentation(policies.stream().map(policy -> converter.convert(policy)).collect(Collectors.toList()));
+	public PasswordPoliciesRepresentation list(WebRequest request) {
+		return conditional(request, policyService.version().orThrow(), () -> {
+			List<PasswordPolicy> policies = policyService.list().orThrow();
+			return new PasswordPoliciesRepresentation(policies.stream().map(policy -> converter.convert(policy)).collect(Collectors.toList()));
+		});
 	}
 
 }
@@ -32,6 +32,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import fm.pattern.tokamak.authorization.Authorize;
 import fm.pattern.tokamak.sdk.model.RoleRepresentation;
@@ -58,7 +59,7 @@ public class RolesEndpoint extends Endpoint {
 	public RoleRepresentation create(@RequestBody RoleRepresentation representation) {
 		Role role = roleConversionService.convert(representation);
 		Role created = roleService.create(role).orThrow();
-		return roleConversionService.convert(roleService.findById(created.getId()).orThrow());
+		return roleConversionService.convert(created);
 	}
 
 	@Authorize(scopes = "roles:update")
@@ -78,23 +79,32 @@ public class RolesEndpoint extends Endpoint {
 
 	@Authorize(scopes = "roles:read")
 	@RequestMapping(value = "/v1/roles/{id}", method = GET, produces = APPLICATION_JSON_VALUE)
-	public RoleRepresentation findById(@PathVariable String id) {
+	public RoleRepresentation findById(@PathVariable String id, WebRequest request) {
 		Role role = roleService.findById(id).orThrow();
-		return roleConversionService.convert(role);
+		return conditional(request, role, () -> roleConversionService.convert(role));
 	}
 
 	@Authorize(scopes = "roles:read")
 	@RequestMapping(value = "/v1/roles/name/{name}", method = GET, produces = APPLICATION_JSON_VALUE)
-	public RoleRepresentation findByName(@PathVariable String name) {
+	public RoleRepresentation findByName(@PathVariable String name, WebRequest request) {
 		Role role = roleService.findByName(name).orThrow();
-		return roleConversionService.convert(role);
+		return conditional(request, role, () -> roleConversionService.convert(role));
 	}
 
 	@Authorize(scopes = "roles:read")
 	@RequestMapping(value = "/v1/roles", method = GET, produces = APPLICATION_JSON_VALUE)
-	public RolesRepresentation list() {
-		List<Role> roles = roleService.list().orThrow();
-		return new RolesRepresentation(roles.stream().map(role -> roleConversionService.convert(role)).collect(Collectors.toList()));
+	public RolesRepresentation list(WebRequest request) {
+		return conditional(request, roleService.version().orThrow(), () -> {
+			List<Role> roles = roleService.list().orThrow();
+			return new RolesRepresentation(roles.stream().map(role -> roleConversionService.convert(role)).collect(Collectors.toList()));
+		});
+	}
+
+	@Authorize(scopes = "roles:create")
+	@RequestMapping(value = "/v1/roles", method = PUT, consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+	public RolesRepresentation upsert(@RequestBody RolesRepresentation representation) {
+		List<Role> roles = representation.getRoles().stream().map(role -> roleConversionService.convert(role)).collect(Collectors.toList());
+		return new RolesRepresentation(roleService.upsert(roles).orThrow().stream().map(role -> roleConversionService.convert(role)).collect(Collectors.toList()));
 	}
 
 }
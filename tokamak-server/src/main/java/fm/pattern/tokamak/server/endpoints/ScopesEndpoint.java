@@ -32,6 +32,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import fm.pattern.tokamak.authorization.Authorize;
 import fm.pattern.tokamak.sdk.model.ScopeRepresentation;
@@ -58,7 +59,7 @@ public class ScopesEndpoint extends Endpoint {
 	public ScopeRepresentation create(@RequestBody ScopeRepresentation representation) {
 		Scope scope = scopeConversionService.convert(representation);
 		Scope created = scopeService.create(scope).orThrow();
-		return scopeConversionService.convert(scopeService.findById(created.getId()).orThrow());
+		return scopeConversionService.convert(created);
 	}
 
 	@Authorize(scopes = "scopes:update")
@@ -78,23 +79,32 @@ public class ScopesEndpoint extends Endpoint {
 
 	@Authorize(scopes = "scopes:read")
 	@RequestMapping(value = "/v1/scopes/{id}", method = GET, produces = APPLICATION_JSON_VALUE)
-	public ScopeRepresentation findById(@PathVariable String id) {
+	public ScopeRepresentation findById(@PathVariable String id, WebRequest request) {
 		Scope scope = scopeService.findById(id).orThrow();
-		return scopeConversionService.convert(scope);
+		return conditional(request, scope, () -> scopeConversionService.convert(scope));
 	}
 
 	@Authorize(scopes = "scopes:read")
 	@RequestMapping(value = "/v1/scopes/name/{name}", method = GET, produces = APPLICATION_JSON_VALUE)
-	public ScopeRepresentation findByName(@PathVariable String name) {
+	public ScopeRepresentation findByName(@PathVariable String name, WebRequest request) {
 		Scope scope = scopeService.findByName(name).orThrow();
-		return scopeConversionService.convert(scope);
+		return conditional(request, scope, () -> scopeConversionService.convert(scope));
 	}
 
 	@Authorize(scopes = "scopes:read")
 	@RequestMapping(value = "/v1/scopes", method = GET, produces = APPLICATION_JSON_VALUE)
-	public ScopesRepresentation list() {
-		List<Scope> scopes = scopeService.list().orThrow();
-		return new ScopesRepresentation(scopes.stream().map(scope -> scopeConversionService.convert(scope)).collect(Collectors.toList()));
+	public ScopesRepresentation list(WebRequest request) {
+		return conditional(request, scopeService.version().orThrow(), () -> {
+			List<Scope> scopes = scopeService.list().orThrow();
+			return new ScopesRepresentation(scopes.stream().map(scope -> scopeConversionService.convert(scope)).collect(Collectors.toList()));
+		});
+	}
+
+	@Authorize(scopes = "scopes:create")
+	@RequestMapping(value = "/v1/scopes", method = PUT, consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+	public ScopesRepresentation upsert(@RequestBody ScopesRepresentation representation) {
+		List<Scope> scopes = representation.getScopes().stream().map(scope -> scopeConversionService.convert(scope)).collect(Collectors.toList());
+		return new ScopesRepresentation(scopeService.upsert(scopes).orThrow().stream().map(scope -> scopeConversionService.convert(scope)).collect(Collectors.toList()));
 	}
 
 }
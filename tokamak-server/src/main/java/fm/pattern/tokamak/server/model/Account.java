@@ -27,9 +27,12 @@ import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
 import javax.validation.constraints.Size;
 
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.validator.constraints.NotBlank;
 
 import com.google.common.base.Objects;
@@ -47,7 +50,8 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity(name = "Accounts")
-@UniqueValue(property = "username", message = "{account.username.conflict}", groups = { CreateLevel4.class, UpdateLevel4.class })
+@NamedEntityGraph(name = "Accounts.roles", attributeNodes = @NamedAttributeNode("roles"))
+@UniqueValue(property = "username", constraint = "UK_ACCOUNT_USERNAME", message = "{account.username.conflict}", groups = { CreateLevel4.class, UpdateLevel4.class })
 public class Account extends PersistentEntity {
 
 	private static final long serialVersionUID = 2435019868978460407L;
@@ -69,6 +73,7 @@ public class Account extends PersistentEntity {
 	@Getter
 	@Setter
 	@OneToMany(cascade = CascadeType.REFRESH, fetch = FetchType.EAGER)
+	@BatchSize(size = 100)
 	@JoinTable(name = "AccountRoles", joinColumns = { @JoinColumn(name = "account_id", referencedColumnName = "id") }, inverseJoinColumns = { @JoinColumn(name = "role_id", referencedColumnName = "id") })
 	private Set<Role> roles = new HashSet<Role>();
 
@@ -39,7 +39,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity(name = "Audiences")
-@UniqueValue(property = "name", message = "{audience.name.conflict}", groups = { CreateLevel3.class, UpdateLevel3.class })
+@UniqueValue(property = "name", constraint = "UK_AUDIENCE_NAME", message = "{audience.name.conflict}", groups = { CreateLevel3.class, UpdateLevel3.class })
 public class Audience extends PersistentEntity {
 
 	private static final long serialVersionUID = -5647907379923624257L;
@@ -39,7 +39,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity(name = "Authorities")
-@UniqueValue(property = "name", message = "{authority.name.conflict}", groups = { CreateLevel3.class, UpdateLevel3.class })
+@UniqueValue(property = "name", constraint = "UK_AUTHORITY_NAME", message = "{authority.name.conflict}", groups = { CreateLevel3.class, UpdateLevel3.class })
 public class Authority extends PersistentEntity {
 
 	private static final long serialVersionUID = -1590718890528381357L;
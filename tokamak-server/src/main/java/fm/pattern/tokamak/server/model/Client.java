@@ -30,6 +30,9 @@ import javax.persistence.OneToMany;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.hibernate.validator.constraints.NotBlank;
 
 import fm.pattern.commons.util.IdGenerator;
@@ -45,7 +48,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity(name = "Clients")
-@UniqueValue(property = "clientId", message = "{client.clientId.conflict}", groups = { CreateLevel4.class, UpdateLevel4.class })
+@UniqueValue(property = "clientId", constraint = "UK_CLIENT_ID", message = "{client.clientId.conflict}", groups = { CreateLevel4.class, UpdateLevel4.class })
 public class Client extends PersistentEntity {
 
 	private static final long serialVersionUID = -229014499144213599L;
@@ -80,24 +83,32 @@ public class Client extends PersistentEntity {
 	@Getter
 	@Setter
 	@OneToMany(cascade = CascadeType.REFRESH, fetch = FetchType.EAGER)
+	@Fetch(FetchMode.SELECT)
+	@BatchSize(size = 100)
 	@JoinTable(name = "ClientAudiences", joinColumns = { @JoinColumn(name = "client_id", referencedColumnName = "id") }, inverseJoinColumns = { @JoinColumn(name = "audience_id", referencedColumnName = "id") })
 	private Set<Audience> audiences = new HashSet<Audience>();
 
 	@Getter
 	@Setter
 	@OneToMany(cascade = CascadeType.REFRESH, fetch = FetchType.EAGER)
+	@Fetch(FetchMode.SELECT)
+	@BatchSize(size = 100)
 	@JoinTable(name = "ClientAuthorities", joinColumns = { @JoinColumn(name = "client_id", referencedColumnName = "id") }, inverseJoinColumns = { @JoinColumn(name = "authority_id", referencedColumnName = "id") })
 	private Set<Authority> authorities = new HashSet<Authority>();
 
 	@Getter
 	@Setter
 	@OneToMany(cascade = CascadeType.REFRESH, fetch = FetchType.EAGER)
+	@Fetch(FetchMode.SELECT)
+	@BatchSize(size = 100)
 	@JoinTable(name = "ClientScopes", joinColumns = { @JoinColumn(name = "client_id", referencedColumnName = "id") }, inverseJoinColumns = { @JoinColumn(name = "scope_id", referencedColumnName = "id") })
 	private Set<Scope> scopes = new HashSet<Scope>();
 
 	@Getter
 	@Setter
 	@OneToMany(cascade = CascadeType.REFRESH, fetch = FetchType.EAGER)
+	@Fetch(FetchMode.SELECT)
+	@BatchSize(size = 100)
 	@JoinTable(name = "ClientGrantTypes", joinColumns = { @JoinColumn(name = "client_id", referencedColumnName = "id") }, inverseJoinColumns = { @JoinColumn(name = "grant_type_id", referencedColumnName = "id") })
 	@NotNull(message = "{client.grantType.required}", groups = { CreateLevel1.class, UpdateLevel1.class })
 	@Size(min = 1, message = "{client.grantType.required}", groups = { CreateLevel1.class, UpdateLevel1.class })
@@ -39,7 +39,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity(name = "GrantTypes")
-@UniqueValue(property = "name", message = "{grantType.name.conflict}", groups = { CreateLevel3.class, UpdateLevel3.class })
+@UniqueValue(property = "name", constraint = "UK_GRANT_TYPE_NAME", message = "{grantType.name.conflict}", groups = { CreateLevel3.class, UpdateLevel3.class })
 public class GrantType extends PersistentEntity {
 
 	private static final long serialVersionUID = -8385482795202177569L;
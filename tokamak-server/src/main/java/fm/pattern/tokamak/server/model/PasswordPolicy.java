@@ -21,7 +21,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity(name = "PasswordPolicies")
-@UniqueValue(property = "name", message = "{passwordPolicy.name.conflict}", groups = { CreateLevel3.class, UpdateLevel3.class })
+@UniqueValue(property = "name", constraint = "UK_PASSWORD_POLICY_NAME", message = "{passwordPolicy.name.conflict}", groups = { CreateLevel3.class, UpdateLevel3.class })
 public class PasswordPolicy extends PersistentEntity {
 
 	private static final long serialVersionUID = 5899777992531451401L;
@@ -39,7 +39,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity(name = "Roles")
-@UniqueValue(property = "name", message = "{role.name.conflict}", groups = { CreateLevel3.class, UpdateLevel3.class })
+@UniqueValue(property = "name", constraint = "UK_ROLE_NAME", message = "{role.name.conflict}", groups = { CreateLevel3.class, UpdateLevel3.class })
 public class Role extends PersistentEntity {
 
 	private static final long serialVersionUID = -5647907379923624257L;
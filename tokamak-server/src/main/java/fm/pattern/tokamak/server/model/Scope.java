@@ -39,7 +39,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity(name = "Scopes")
-@UniqueValue(property = "name", message = "{scope.name.conflict}", groups = { CreateLevel3.class, UpdateLevel3.class })
+@UniqueValue(property = "name", constraint = "UK_SCOPE_NAME", message = "{scope.name.conflict}", groups = { CreateLevel3.class, UpdateLevel3.class })
 public class Scope extends PersistentEntity {
 
 	private static final long serialVersionUID = 5066562591827034738L;
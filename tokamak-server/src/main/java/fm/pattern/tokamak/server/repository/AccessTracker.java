@@ -0,0 +1,75 @@
+package fm.pattern.tokamak.server.repository;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+class AccessTracker {
+
+	private final int threshold;
+	private final long windowMillis;
+	private final int capacity;
+	private final LongSupplier clock;
+
+	private volatile Window current;
+	private volatile Map<String, AtomicInteger> previous = Collections.emptyMap();
+
+	AccessTracker(int threshold, long windowMillis, int capacity) {
+		this(threshold, windowMillis, capacity, System::currentTimeMillis);
+	}
+
+	AccessTracker(int threshold, long windowMillis, int capacity, LongSupplier clock) {
+		this.threshold = threshold;
+		this.windowMillis = windowMillis;
+		this.capacity = capacity;
+		this.clock = clock;
+		this.current = new Window(clock.getAsLong());
+	}
+
+	boolean record(String key) {
+		Window window = window();
+
+		AtomicInteger counter = window.counts.get(key);
+		if (counter == null) {
+			if (window.counts.size() >= capacity) {
+				return count(previous, key) >= threshold;
+			}
+			counter = window.counts.computeIfAbsent(key, k -> new AtomicInteger());
+		}
+
+		return counter.incrementAndGet() + count(previous, key) >= threshold;
+	}
+
+	private Window window() {
+		Window window = current;
+		long now = clock.getAsLong();
+		if (now - window.started < windowMillis) {
+			return window;
+		}
+
+		synchronized (this) {
+			if (current == window) {
+				previous = now - window.started < windowMillis * 2 ? window.counts : Collections.emptyMap();
+				current = new Window(now);
+			}
+			return current;
+		}
+	}
+
+	private static int count(Map<String, AtomicInteger> counts, String key) {
+		AtomicInteger counter = counts.get(key);
+		return counter == null ? 0 : counter.get();
+	}
+
+	private static class Window {
+		private final long started;
+		private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+		private Window(long started) {
+			this.started = started;
+		}
+	}
+
+}
@@ -1,15 +1,34 @@
 package fm.pattern.tokamak.server.repository;
 
+import java.util.List;
+import java.util.Map;
+
 public interface Cache {
 
 	<T> T put(String key, T value);
 
-	void delete(String key);
+	<T> T put(String key, T value, String... aliases);
+
+	<T> T put(String key, T value, long version, String... aliases);
+
+	void putAll(List<CacheEntry> entries);
+
+	void delete(String... keys);
 
 	<T> T get(String key, Class<T> type);
 
+	<T> T get(String key, Class<T> type, Runnable refresh);
+
+	<T> T resolve(String alias, Class<T> type);
+
+	<T> T resolve(String alias, Class<T> type, Runnable refresh);
+
+	<T> Map<String, T> getAll(List<String> keys, Class<T> type);
+
+	<T> Map<String, T> resolveAll(List<String> aliases, Class<T> type);
+
 	boolean contains(String key);
 
 	void flush();
-	
+
 }
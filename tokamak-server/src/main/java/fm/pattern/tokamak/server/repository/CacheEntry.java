@@ -0,0 +1,33 @@
+package fm.pattern.tokamak.server.repository;
+
+public class CacheEntry {
+
+	private final String key;
+	private final Object value;
+	private final long version;
+	private final String[] aliases;
+
+	public CacheEntry(String key, Object value, long version, String... aliases) {
+		this.key = key;
+		this.value = value;
+		this.version = version;
+		this.aliases = aliases;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public Object getValue() {
+		return value;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public String[] getAliases() {
+		return aliases;
+	}
+
+}
@@ -0,0 +1,36 @@
+package fm.pattern.tokamak.server.repository;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component("cacheHealthIndicator")
+@ConditionalOnProperty(name = "cache.provider", havingValue = "redis", matchIfMissing = true)
+class CacheHealthIndicator extends AbstractHealthIndicator {
+
+	private static final Status DEGRADED = new Status("DEGRADED", "Cache bypassed, requests are served from the database");
+
+	private final List<CircuitBreaker> breakers;
+
+	@Autowired
+	public CacheHealthIndicator(List<CircuitBreaker> breakers) {
+		this.breakers = breakers;
+	}
+
+	@Override
+	protected void doHealthCheck(Health.Builder builder) throws Exception {
+		builder.up();
+		for (CircuitBreaker breaker : breakers) {
+			if (breaker.getState() != CircuitBreaker.State.CLOSED) {
+				builder.status(DEGRADED);
+			}
+			builder.withDetail(breaker.getName(), breaker.getState().name());
+		}
+	}
+
+}
@@ -0,0 +1,36 @@
+package fm.pattern.tokamak.server.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "cache.provider", havingValue = "redis", matchIfMissing = true)
+class CacheMetrics implements PublicMetrics {
+
+	private final List<CircuitBreaker> breakers;
+
+	@Autowired
+	public CacheMetrics(List<CircuitBreaker> breakers) {
+		this.breakers = breakers;
+	}
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		List<Metric<?>> metrics = new ArrayList<>();
+		for (CircuitBreaker breaker : breakers) {
+			String prefix = "cache." + breaker.getName() + ".breaker.";
+			metrics.add(new Metric<Integer>(prefix + "state", breaker.getState().ordinal()));
+			metrics.add(new Metric<Long>(prefix + "rejected", breaker.getRejected()));
+			metrics.add(new Metric<Long>(prefix + "trips", breaker.getTrips()));
+		}
+		return metrics;
+	}
+
+}
@@ -0,0 +1,117 @@
+package fm.pattern.tokamak.server.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class CacheSynchronizer {
+
+	public void put(Cache cache, CacheEntry entry) {
+		Batch batch = batch();
+		if (batch == null) {
+			cache.put(entry.getKey(), entry.getValue(), entry.getVersion(), entry.getAliases());
+			return;
+		}
+		batch.operations(cache).put(entry.getKey(), entry);
+	}
+
+	public void delete(Cache cache, String... keys) {
+		Batch batch = batch();
+		if (batch == null) {
+			cache.delete(keys);
+			return;
+		}
+		for (String key : keys) {
+			batch.operations(cache).put(key, null);
+		}
+	}
+
+	public void flush(Cache cache) {
+		Batch batch = batch();
+		if (batch == null) {
+			cache.flush();
+			return;
+		}
+		batch.operations(cache).clear();
+		batch.flushes.add(cache);
+	}
+
+	public void afterCommit(Runnable action) {
+		Batch batch = batch();
+		if (batch == null) {
+			action.run();
+			return;
+		}
+		batch.actions.add(action);
+	}
+
+	private Batch batch() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return null;
+		}
+
+		Batch batch = (Batch) TransactionSynchronizationManager.getResource(this);
+		if (batch == null) {
+			batch = new Batch(this);
+			TransactionSynchronizationManager.bindResource(this, batch);
+			TransactionSynchronizationManager.registerSynchronization(batch);
+		}
+		return batch;
+	}
+
+	private static class Batch extends TransactionSynchronizationAdapter {
+		private final Object key;
+		private final List<Cache> flushes = new ArrayList<>();
+		private final Map<Cache, Map<String, CacheEntry>> operations = new LinkedHashMap<>();
+		private final List<Runnable> actions = new ArrayList<>();
+
+		private Batch(Object key) {
+			this.key = key;
+		}
+
+		private Map<String, CacheEntry> operations(Cache cache) {
+			return operations.computeIfAbsent(cache, c -> new LinkedHashMap<>());
+		}
+
+		@Override
+		public void afterCommit() {
+			flushes.forEach(Cache::flush);
+
+			operations.forEach((cache, pending) -> {
+				List<String> deletes = new ArrayList<>();
+				List<CacheEntry> puts = new ArrayList<>();
+				pending.forEach((key, entry) -> {
+					if (entry == null) {
+						deletes.add(key);
+					}
+					else {
+						puts.add(entry);
+					}
+				});
+
+				if (!deletes.isEmpty()) {
+					cache.delete(deletes.toArray(new String[deletes.size()]));
+				}
+				cache.putAll(puts);
+			});
+
+			actions.forEach(Runnable::run);
+
+			flushes.clear();
+			operations.clear();
+			actions.clear();
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(key);
+		}
+	}
+
+}
@@ -0,0 +1,98 @@
+package fm.pattern.tokamak.server.repository;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+public class CircuitBreaker {
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final String name;
+	private final int failureThreshold;
+	private final long openIntervalMillis;
+	private final LongSupplier clock;
+
+	private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+	private final AtomicInteger failures = new AtomicInteger();
+	private final AtomicBoolean probing = new AtomicBoolean();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder trips = new LongAdder();
+	private volatile long openedAt;
+
+	public CircuitBreaker(String name, int failureThreshold, long openIntervalMillis) {
+		this(name, failureThreshold, openIntervalMillis, System::currentTimeMillis);
+	}
+
+	CircuitBreaker(String name, int failureThreshold, long openIntervalMillis, LongSupplier clock) {
+		this.name = name;
+		this.failureThreshold = failureThreshold < 1 ? 1 : failureThreshold;
+		this.openIntervalMillis = openIntervalMillis;
+		this.clock = clock;
+	}
+
+	public boolean allowRequest() {
+		State current = state.get();
+		if (current == State.CLOSED) {
+			return true;
+		}
+
+		if (current == State.OPEN) {
+			if (clock.getAsLong() - openedAt < openIntervalMillis) {
+				rejected.increment();
+				return false;
+			}
+			state.compareAndSet(State.OPEN, State.HALF_OPEN);
+		}
+
+		if (probing.compareAndSet(false, true)) {
+			return true;
+		}
+
+		rejected.increment();
+		return false;
+	}
+
+	public void success() {
+		if (state.get() == State.HALF_OPEN) {
+			state.set(State.CLOSED);
+			probing.set(false);
+		}
+		failures.set(0);
+	}
+
+	public void failure() {
+		if (state.get() == State.HALF_OPEN || failures.incrementAndGet() >= failureThreshold) {
+			trip();
+		}
+	}
+
+	private void trip() {
+		openedAt = clock.getAsLong();
+		state.set(State.OPEN);
+		failures.set(0);
+		probing.set(false);
+		trips.increment();
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public State getState() {
+		return state.get();
+	}
+
+	public long getRejected() {
+		return rejected.sum();
+	}
+
+	public long getTrips() {
+		return trips.sum();
+	}
+
+}
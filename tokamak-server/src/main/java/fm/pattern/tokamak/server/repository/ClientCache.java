@@ -2,71 +2,18 @@ package fm.pattern.tokamak.server.repository;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.stereotype.Component;
 
 @Component("clientCache")
-@SuppressWarnings("unchecked")
-class ClientCache implements Cache {
-
-	private final RedisTemplate<String, Object> template;
+@ConditionalOnProperty(name = "cache.provider", havingValue = "redis", matchIfMissing = true)
+class ClientCache extends RedisCache {
 
 	@Autowired
-	public ClientCache(@Qualifier("clientRedisTemplate") RedisTemplate<String, Object> template) {
-		this.template = template;
-		this.template.setKeySerializer(new StringRedisSerializer());
-	}
-
-	@Override
-	public <T> T put(String key, T value) {
-		try {
-			template.opsForValue().set(key, value);
-		}
-		catch (Exception e) {
-
-		}
-		return value;
-	}
-
-	@Override
-	public void delete(String key) {
-		try {
-			template.delete(key);
-		}
-		catch (Exception e) {
-
-		}
-	}
-
-	@Override
-	public boolean contains(String key) {
-		try {
-			return template.hasKey(key);
-		}
-		catch (Exception e) {
-			return false;
-		}
-	}
-
-	@Override
-	public <T> T get(String key, Class<T> type) {
-		try {
-			return (T) template.opsForValue().get(key);
-		}
-		catch (Exception e) {
-			return null;
-		}
-	}
-
-	@Override
-	public void flush() {
-		try {
-			template.getConnectionFactory().getConnection().flushDb();
-		}
-		catch (Exception e) {
-
-		}
+	public ClientCache(@Qualifier("clientRedisTemplate") RedisTemplate<String, Object> template, @Qualifier("clientCircuitBreaker") CircuitBreaker breaker, RefreshAhead refreshAhead, @Value("${cache.ttlSeconds:3600}") Long ttlSeconds, @Value("${cache.redis.mode:standalone}") String mode) {
+		super("clients", "cluster".equals(mode), template, breaker, refreshAhead, ttlSeconds);
 	}
 
 }
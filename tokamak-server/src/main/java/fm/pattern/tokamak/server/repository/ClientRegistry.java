@@ -0,0 +1,495 @@
+package fm.pattern.tokamak.server.repository;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import fm.pattern.tokamak.server.security.AuthenticatedClient;
+
+@Component
+public class ClientRegistry {
+
+	private static final long EMPTY = 0L;
+	private static final long TOMBSTONE = -1L;
+	private static final int HEADER = 20;
+	private static final int COPY_BUFFER = 4096;
+
+	private final boolean enabled;
+	private final int capacity;
+	private final long ttlMillis;
+	private final LongSupplier clock;
+	private final StampedLock lock = new StampedLock();
+	private final Symbols symbols = new Symbols();
+	private final Cache<Long, AuthenticatedClient> decoded;
+
+	private LongBuffer index;
+	private ByteBuffer data;
+	private int mask;
+	private int size;
+	private int used;
+	private int position;
+	private long nextExpiry;
+	private long generation;
+
+	@Autowired
+	public ClientRegistry(@Value("${clients.registry.enabled:false}") Boolean enabled, @Value("${clients.registry.capacity:1000000}") Integer capacity, @Value("${clients.registry.memoryMegabytes:256}") Integer memoryMegabytes, @Value("${clients.registry.ttlSeconds:300}") Long ttlSeconds, @Value("${clients.registry.decodedCapacity:10000}") Integer decodedCapacity) {
+		this(enabled, capacity, (int) Math.min(Integer.MAX_VALUE, memoryMegabytes * 1024L * 1024L), TimeUnit.SECONDS.toMillis(ttlSeconds), decodedCapacity, System::currentTimeMillis);
+	}
+
+	ClientRegistry(boolean enabled, int capacity, int memoryBytes, long ttlMillis, int decodedCapacity, LongSupplier clock) {
+		this.enabled = enabled;
+		this.capacity = capacity;
+		this.ttlMillis = ttlMillis;
+		this.clock = clock;
+		this.decoded = Caffeine.newBuilder().maximumSize(decodedCapacity).build();
+
+		if (enabled) {
+			int slots = Integer.highestOneBit(Math.max(2, capacity + capacity / 3) - 1) << 1;
+			this.index = ByteBuffer.allocateDirect(slots * 8).asLongBuffer();
+			this.data = ByteBuffer.allocateDirect(memoryBytes);
+			this.mask = slots - 1;
+		}
+	}
+
+	public AuthenticatedClient find(String clientId) {
+		if (!enabled || clientId == null) {
+			return null;
+		}
+
+		byte[] key = clientId.getBytes(UTF_8);
+		int hash = hash(key);
+
+		long record = locate(key, hash);
+		if (record < 0) {
+			return null;
+		}
+
+		AuthenticatedClient client = decoded.getIfPresent(record);
+		if (client != null) {
+			return client;
+		}
+
+		long stamp = lock.readLock();
+		try {
+			record = lookup(key, hash);
+			if (record < 0) {
+				return null;
+			}
+			client = decode(data, (int) record);
+			decoded.put(record, client);
+			return client;
+		}
+		finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	public void put(AuthenticatedClient client) {
+		if (!enabled) {
+			return;
+		}
+
+		byte[] key = client.getClientId().getBytes(UTF_8);
+		byte[] secret = client.getClientSecret() == null ? new byte[0] : client.getClientSecret().getBytes(UTF_8);
+		Set<String> authorities = client.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet());
+		int hash = hash(key);
+
+		long stamp = lock.writeLock();
+		try {
+			int[][] symbolIds = { symbols.intern(client.getScope()), symbols.intern(authorities), symbols.intern(client.getAuthorizedGrantTypes()), symbols.intern(client.getResourceIds()) };
+
+			int length = HEADER + 2 + key.length + 2 + secret.length;
+			for (int[] ids : symbolIds) {
+				length += 2 + ids.length * 4;
+			}
+
+			if (size >= capacity && clock.getAsLong() >= nextExpiry && slotOf(key, hash) < 0) {
+				compact();
+			}
+
+			if ((long) position + length > data.capacity()) {
+				compact();
+				if ((long) position + length > data.capacity()) {
+					return;
+				}
+			}
+
+			int offset = position;
+			write(offset, length, key, secret, symbolIds, client.getAccessTokenValiditySeconds(), client.getRefreshTokenValiditySeconds());
+			if (insert(key, hash, offset)) {
+				position += length;
+			}
+		}
+		finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	public void remove(String clientId) {
+		if (!enabled || clientId == null) {
+			return;
+		}
+
+		byte[] key = clientId.getBytes(UTF_8);
+		int hash = hash(key);
+
+		long stamp = lock.writeLock();
+		try {
+			int slot = slotOf(key, hash);
+			if (slot >= 0) {
+				index.put(slot, TOMBSTONE);
+				size--;
+			}
+		}
+		finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	public void clear() {
+		if (!enabled) {
+			return;
+		}
+
+		long stamp = lock.writeLock();
+		try {
+			for (int slot = 0; slot <= mask; slot++) {
+				index.put(slot, EMPTY);
+			}
+			symbols.clear();
+			size = 0;
+			used = 0;
+			position = 0;
+			nextExpiry = 0;
+			generation++;
+			decoded.invalidateAll();
+		}
+		finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	public int size() {
+		long stamp = lock.readLock();
+		try {
+			return size;
+		}
+		finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	private long locate(byte[] key, int hash) {
+		long stamp = lock.tryOptimisticRead();
+		long record = -1L;
+		try {
+			record = lookup(key, hash);
+		}
+		catch (RuntimeException e) {
+			stamp = 0L;
+		}
+
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				record = lookup(key, hash);
+			}
+			finally {
+				lock.unlockRead(stamp);
+			}
+		}
+
+		return record;
+	}
+
+	private long lookup(byte[] key, int hash) {
+		long generation = this.generation;
+		int slot = slotOf(key, hash);
+		if (slot < 0) {
+			return -1L;
+		}
+
+		int offset = (int) index.get(slot);
+		return data.getLong(offset + 4) < clock.getAsLong() ? -1L : (generation << 32) | (offset & 0xFFFFFFFFL);
+	}
+
+	private boolean insert(byte[] key, int hash, int offset) {
+		long entry = ((long) hash << 32) | (offset & 0xFFFFFFFFL);
+
+		int slot = hash & mask;
+		int free = -1;
+		for (int probes = 0; probes <= mask; probes++) {
+			long current = index.get(slot);
+			if (current == EMPTY) {
+				break;
+			}
+			if (current == TOMBSTONE) {
+				free = free < 0 ? slot : free;
+			}
+			else if ((int) (current >>> 32) == hash && matches(data, (int) current, key)) {
+				index.put(slot, entry);
+				return true;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		if (size >= capacity) {
+			return false;
+		}
+
+		if (free < 0) {
+			free = slot;
+			used++;
+		}
+		index.put(free, entry);
+		size++;
+
+		if (used > (mask + 1) * 3 / 4) {
+			rehash();
+		}
+		return true;
+	}
+
+	private int slotOf(byte[] key, int hash) {
+		int slot = hash & mask;
+		for (int probes = 0; probes <= mask; probes++) {
+			long entry = index.get(slot);
+			if (entry == EMPTY) {
+				return -1;
+			}
+			if (entry != TOMBSTONE && (int) (entry >>> 32) == hash && matches(data, (int) entry, key)) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	private int slotOf(int offset) {
+		byte[] key = key(data, offset);
+		int slot = hash(key) & mask;
+		for (int probes = 0; probes <= mask; probes++) {
+			long entry = index.get(slot);
+			if (entry == EMPTY) {
+				return -1;
+			}
+			if (entry != TOMBSTONE && (int) entry == offset) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	private void rehash() {
+		long[] live = new long[size];
+		int count = 0;
+		for (int slot = 0; slot <= mask; slot++) {
+			long entry = index.get(slot);
+			if (entry != EMPTY && entry != TOMBSTONE) {
+				live[count++] = entry;
+			}
+			index.put(slot, EMPTY);
+		}
+
+		for (int i = 0; i < count; i++) {
+			int slot = (int) (live[i] >>> 32) & mask;
+			while (index.get(slot) != EMPTY) {
+				slot = (slot + 1) & mask;
+			}
+			index.put(slot, live[i]);
+		}
+		used = count;
+	}
+
+	private void compact() {
+		long now = clock.getAsLong();
+		byte[] buffer = new byte[COPY_BUFFER];
+
+		int read = 0;
+		int write = 0;
+		long earliest = Long.MAX_VALUE;
+		while (read < position) {
+			int length = data.getInt(read);
+			int slot = slotOf(read);
+			long expiry = data.getLong(read + 4);
+
+			if (slot >= 0 && expiry < now) {
+				index.put(slot, TOMBSTONE);
+				size--;
+				slot = -1;
+			}
+
+			if (slot >= 0) {
+				earliest = Math.min(earliest, expiry);
+				if (read != write) {
+					for (int copied = 0; copied < length; copied += buffer.length) {
+						int chunk = Math.min(buffer.length, length - copied);
+						ByteBuffer source = data.duplicate();
+						source.position(read + copied);
+						source.get(buffer, 0, chunk);
+						ByteBuffer target = data.duplicate();
+						target.position(write + copied);
+						target.put(buffer, 0, chunk);
+					}
+					long entry = index.get(slot);
+					index.put(slot, (entry & 0xFFFFFFFF00000000L) | (write & 0xFFFFFFFFL));
+				}
+				write += length;
+			}
+			read += length;
+		}
+
+		position = write;
+		nextExpiry = earliest;
+		generation++;
+		decoded.invalidateAll();
+		rehash();
+	}
+
+	private void write(int offset, int length, byte[] key, byte[] secret, int[][] symbolIds, Integer accessTokenValiditySeconds, Integer refreshTokenValiditySeconds) {
+		data.putInt(offset, length);
+		data.putLong(offset + 4, clock.getAsLong() + ttlMillis);
+		data.putInt(offset + 12, accessTokenValiditySeconds == null ? -1 : accessTokenValiditySeconds);
+		data.putInt(offset + 16, refreshTokenValiditySeconds == null ? -1 : refreshTokenValiditySeconds);
+
+		int cursor = offset + HEADER;
+		cursor = putBytes(cursor, key);
+		cursor = putBytes(cursor, secret);
+		for (int[] ids : symbolIds) {
+			data.putShort(cursor, (short) ids.length);
+			cursor += 2;
+			for (int id : ids) {
+				data.putInt(cursor, id);
+				cursor += 4;
+			}
+		}
+	}
+
+	private int putBytes(int cursor, byte[] bytes) {
+		data.putShort(cursor, (short) bytes.length);
+		ByteBuffer target = data.duplicate();
+		target.position(cursor + 2);
+		target.put(bytes);
+		return cursor + 2 + bytes.length;
+	}
+
+	private AuthenticatedClient decode(ByteBuffer data, int offset) {
+		int accessTokenValiditySeconds = data.getInt(offset + 12);
+		int refreshTokenValiditySeconds = data.getInt(offset + 16);
+
+		int cursor = offset + HEADER;
+		byte[] key = key(data, offset);
+		cursor += 2 + key.length;
+
+		byte[] secret = new byte[data.getShort(cursor)];
+		ByteBuffer source = data.duplicate();
+		source.position(cursor + 2);
+		source.get(secret);
+		cursor += 2 + secret.length;
+
+		@SuppressWarnings("unchecked")
+		Set<String>[] names = new Set[4];
+		for (int i = 0; i < names.length; i++) {
+			int count = data.getShort(cursor);
+			cursor += 2;
+			names[i] = new HashSet<>(count * 2);
+			for (int j = 0; j < count; j++) {
+				names[i].add(symbols.name(data.getInt(cursor)));
+				cursor += 4;
+			}
+		}
+
+		return new AuthenticatedClient(new String(key, UTF_8), new String(secret, UTF_8), names[0], names[1], names[2], names[3], accessTokenValiditySeconds < 0 ? null : accessTokenValiditySeconds, refreshTokenValiditySeconds < 0 ? null : refreshTokenValiditySeconds);
+	}
+
+	private static boolean matches(ByteBuffer data, int offset, byte[] key) {
+		int cursor = offset + HEADER;
+		if (data.getShort(cursor) != key.length) {
+			return false;
+		}
+		cursor += 2;
+		for (int i = 0; i < key.length; i++) {
+			if (data.get(cursor + i) != key[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static byte[] key(ByteBuffer data, int offset) {
+		int cursor = offset + HEADER;
+		byte[] key = new byte[data.getShort(cursor)];
+		ByteBuffer source = data.duplicate();
+		source.position(cursor + 2);
+		source.get(key);
+		return key;
+	}
+
+	private static int hash(byte[] key) {
+		int hash = 0x811C9DC5;
+		for (byte b : key) {
+			hash = (hash ^ b) * 0x01000193;
+		}
+		hash ^= hash >>> 16;
+		return hash | 1;
+	}
+
+	private static class Symbols {
+		private final Map<String, Integer> ids = new HashMap<>();
+		private volatile String[] names = new String[64];
+
+		private int[] intern(Collection<String> values) {
+			if (values == null) {
+				return new int[0];
+			}
+			return values.stream().mapToInt(this::intern).toArray();
+		}
+
+		private int intern(String value) {
+			Integer id = ids.get(value);
+			if (id != null) {
+				return id;
+			}
+
+			id = ids.size();
+			String[] current = names;
+			if (id >= current.length) {
+				current = Arrays.copyOf(current, current.length * 2);
+			}
+			current[id] = value;
+			names = current;
+			ids.put(value, id);
+			return id;
+		}
+
+		private String name(int id) {
+			return names[id];
+		}
+
+		private void clear() {
+			ids.clear();
+			names = new String[64];
+		}
+	}
+
+}
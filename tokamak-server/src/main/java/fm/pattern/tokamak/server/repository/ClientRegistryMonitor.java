@@ -0,0 +1,59 @@
+package fm.pattern.tokamak.server.repository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import fm.pattern.tokamak.server.model.Audience;
+import fm.pattern.tokamak.server.model.Authority;
+import fm.pattern.tokamak.server.model.Client;
+import fm.pattern.tokamak.server.model.GrantType;
+import fm.pattern.tokamak.server.model.Scope;
+
+@Component
+public class ClientRegistryMonitor {
+
+	private static final Logger log = LoggerFactory.getLogger(ClientRegistryMonitor.class);
+	private static final List<Class<?>> types = Arrays.asList(Client.class, Scope.class, Authority.class, Audience.class, GrantType.class);
+
+	private final ClientRegistry clientRegistry;
+	private final Supplier<String> version;
+
+	private String current;
+
+	@Autowired
+	public ClientRegistryMonitor(ClientRegistry clientRegistry, TableVersions tableVersions, @Value("${clients.registry.enabled:false}") Boolean enabled, @Value("${clients.registry.syncSeconds:5}") Long syncSeconds) {
+		this(clientRegistry, () -> tableVersions.get(types));
+
+		if (enabled) {
+			tableVersions.schedule(syncSeconds, this::synchronize);
+		}
+	}
+
+	ClientRegistryMonitor(ClientRegistry clientRegistry, Supplier<String> version) {
+		this.clientRegistry = clientRegistry;
+		this.version = version;
+	}
+
+	synchronized void synchronize() {
+		try {
+			String latest = version.get();
+			if (current != null && !current.equals(latest)) {
+				clientRegistry.clear();
+			}
+			current = latest;
+		}
+		catch (RuntimeException e) {
+			log.warn("Unable to synchronize the client registry, clearing it: " + e.getMessage());
+			clientRegistry.clear();
+			current = null;
+		}
+	}
+
+}
@@ -0,0 +1,27 @@
+package fm.pattern.tokamak.server.repository;
+
+import java.util.Date;
+
+public class CollectionVersion {
+
+	private final long count;
+	private final Date lastModified;
+
+	public CollectionVersion(long count, Date lastModified) {
+		this.count = count;
+		this.lastModified = lastModified;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public Date getLastModified() {
+		return lastModified;
+	}
+
+	public String getETag() {
+		return "\"" + Long.toHexString(count) + "-" + Long.toHexString(lastModified == null ? 0 : lastModified.getTime()) + "\"";
+	}
+
+}
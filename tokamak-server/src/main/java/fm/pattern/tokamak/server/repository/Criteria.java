@@ -7,6 +7,9 @@ public class Criteria {
 	private Range range = Range.range();
 	private Date from = null;
 	private Date to = null;
+	private String cursor = null;
+	private TotalCount total = TotalCount.EXACT;
+	private String requestedTotal = null;
 
 	public static Criteria criteria() {
 		return new Criteria();
@@ -46,6 +49,43 @@ public class Criteria {
 		return to != null;
 	}
 
+	public Criteria cursor(String cursor) {
+		this.cursor = cursor == null || cursor.trim().isEmpty() ? null : cursor;
+		return this;
+	}
+
+	public String getCursor() {
+		return cursor;
+	}
+
+	public boolean hasCursor() {
+		return cursor != null;
+	}
+
+	public Criteria total(String total) {
+		this.total = TotalCount.parse(total);
+		this.requestedTotal = total;
+		return this;
+	}
+
+	public Criteria total(TotalCount total) {
+		this.total = total == null ? TotalCount.EXACT : total;
+		this.requestedTotal = null;
+		return this;
+	}
+
+	public TotalCount getTotalCount() {
+		return total;
+	}
+
+	public String getRequestedTotal() {
+		return requestedTotal;
+	}
+
+	public boolean hasValidTotal() {
+		return total != null;
+	}
+
 	public Criteria limit(Integer limit) {
 		range.limit(limit);
 		return this;
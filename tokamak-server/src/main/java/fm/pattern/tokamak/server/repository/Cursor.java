@@ -0,0 +1,64 @@
+package fm.pattern.tokamak.server.repository;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Base64;
+
+import org.apache.commons.lang3.StringUtils;
+
+public class Cursor {
+
+	private static final char SEPARATOR = ':';
+
+	private final String key;
+	private final String id;
+
+	public static Cursor cursor(String key, String id) {
+		return new Cursor(key, id);
+	}
+
+	public static Cursor decode(String token) {
+		if (StringUtils.isBlank(token)) {
+			return null;
+		}
+
+		try {
+			String value = new String(Base64.getUrlDecoder().decode(token), UTF_8);
+			int index = value.lastIndexOf(SEPARATOR);
+			if (index < 1 || index == value.length() - 1) {
+				return null;
+			}
+			return new Cursor(value.substring(0, index), value.substring(index + 1));
+		}
+		catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private Cursor(String key, String id) {
+		this.key = key;
+		this.id = id;
+	}
+
+	public String encode() {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString((key + SEPARATOR + id).getBytes(UTF_8));
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public Long getKeyAsLong() {
+		try {
+			return Long.valueOf(key);
+		}
+		catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	public String getId() {
+		return id;
+	}
+
+}
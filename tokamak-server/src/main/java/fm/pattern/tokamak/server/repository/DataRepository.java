@@ -36,6 +36,8 @@ public interface DataRepository {
 
 	Query query(String query);
 
+	Query namedQuery(String name);
+
 	Query sqlQuery(String query);
 
 	Long count(Query query);
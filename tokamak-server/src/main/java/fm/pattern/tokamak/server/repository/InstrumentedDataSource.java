@@ -0,0 +1,100 @@
+package fm.pattern.tokamak.server.repository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+public final class InstrumentedDataSource {
+
+	private InstrumentedDataSource() {
+
+	}
+
+	public static DataSource wrap(DataSource dataSource, QueryMetrics metrics) {
+		return proxy(DataSource.class, (proxy, method, args) -> {
+			Object result = invoke(dataSource, method, args);
+			return result instanceof Connection ? connection((Connection) result, metrics) : result;
+		});
+	}
+
+	private static Connection connection(Connection connection, QueryMetrics metrics) {
+		return proxy(Connection.class, (proxy, method, args) -> {
+			Object result = invoke(connection, method, args);
+			switch (method.getName()) {
+			case "createStatement":
+				return statement(Statement.class, (Statement) result, null, metrics);
+			case "prepareStatement":
+				return statement(PreparedStatement.class, (Statement) result, (String) args[0], metrics);
+			case "prepareCall":
+				return statement(CallableStatement.class, (Statement) result, (String) args[0], metrics);
+			default:
+				return result;
+			}
+		});
+	}
+
+	private static <S extends Statement> S statement(Class<S> type, Statement statement, String sql, QueryMetrics metrics) {
+		Map<Integer, String> parameters = new TreeMap<>();
+		return proxy(type, (proxy, method, args) -> {
+			String name = method.getName();
+			if (name.startsWith("execute")) {
+				long start = System.nanoTime();
+				try {
+					return invoke(statement, method, args);
+				}
+				finally {
+					String executed = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+					metrics.record(executed, new ArrayList<>(parameters.values()), System.nanoTime() - start);
+				}
+			}
+
+			if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+				parameters.put((Integer) args[0], parameterType(name, args[1]));
+			}
+			else if (name.equals("clearParameters")) {
+				parameters.clear();
+			}
+			return invoke(statement, method, args);
+		});
+	}
+
+	private static String parameterType(String setter, Object value) {
+		if (value == null || setter.equals("setNull")) {
+			return "null";
+		}
+		return setter.equals("setObject") ? value.getClass().getSimpleName() : setter.substring(3);
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		}
+		catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+		return (T) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+			if (method.getName().equals("equals") && args != null && args.length == 1) {
+				return proxy == args[0];
+			}
+			if (method.getName().equals("hashCode") && args == null) {
+				return System.identityHashCode(proxy);
+			}
+			return handler.invoke(proxy, method, args);
+		});
+	}
+
+}
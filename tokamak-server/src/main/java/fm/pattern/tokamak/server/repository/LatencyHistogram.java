@@ -0,0 +1,80 @@
+package fm.pattern.tokamak.server.repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyHistogram {
+
+	private static final long[] BOUNDS = { 1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+
+	private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+	private final LongAdder count = new LongAdder();
+	private final LongAdder total = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	public LatencyHistogram() {
+		for (int i = 0; i < buckets.length; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+
+	public void record(long nanos) {
+		long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+		buckets[bucket(millis)].increment();
+		count.increment();
+		total.add(nanos);
+		max.accumulate(nanos);
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	public double getMeanMillis() {
+		long n = count.sum();
+		return n == 0 ? 0 : (total.sum() / (double) n) / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	public double getMaxMillis() {
+		return max.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	public long getPercentileMillis(double percentile) {
+		long n = count.sum();
+		if (n == 0) {
+			return 0;
+		}
+
+		long rank = (long) Math.ceil(n * percentile);
+		long seen = 0;
+		for (int i = 0; i < BOUNDS.length; i++) {
+			seen += buckets[i].sum();
+			if (seen >= rank) {
+				return BOUNDS[i];
+			}
+		}
+		return (long) Math.ceil(getMaxMillis());
+	}
+
+	public Map<String, Long> getBuckets() {
+		Map<String, Long> values = new LinkedHashMap<>();
+		for (int i = 0; i < BOUNDS.length; i++) {
+			values.put("le" + BOUNDS[i], buckets[i].sum());
+		}
+		values.put("inf", buckets[BOUNDS.length].sum());
+		return values;
+	}
+
+	private static int bucket(long millis) {
+		for (int i = 0; i < BOUNDS.length; i++) {
+			if (millis <= BOUNDS[i]) {
+				return i;
+			}
+		}
+		return BOUNDS.length;
+	}
+
+}
@@ -0,0 +1,151 @@
+package fm.pattern.tokamak.server.repository;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.SerializationUtils;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@SuppressWarnings("unchecked")
+abstract class LocalCache implements Cache {
+
+	private final com.github.benmanes.caffeine.cache.Cache<String, Entry> entries;
+	private final RefreshAhead refreshAhead;
+	private final long ttlMillis;
+
+	LocalCache(RefreshAhead refreshAhead, Long maximumSize, Long ttlSeconds) {
+		this.refreshAhead = refreshAhead;
+		this.ttlMillis = ttlSeconds == null ? 0 : TimeUnit.SECONDS.toMillis(ttlSeconds);
+
+		Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(maximumSize);
+		if (ttlMillis > 0) {
+			builder.expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS);
+		}
+		this.entries = builder.build();
+	}
+
+	@Override
+	public <T> T put(String key, T value) {
+		entries.put(key, new Entry(SerializationUtils.serialize(value), null, 0));
+		return value;
+	}
+
+	@Override
+	public <T> T put(String key, T value, String... aliases) {
+		put(key, value);
+		alias(key, aliases);
+		return value;
+	}
+
+	@Override
+	public <T> T put(String key, T value, long version, String... aliases) {
+		Entry candidate = new Entry(SerializationUtils.serialize(value), null, version);
+		if (entries.asMap().compute(key, (k, current) -> current != null && current.version > version ? current : candidate) == candidate) {
+			alias(key, aliases);
+		}
+		return value;
+	}
+
+	@Override
+	public void putAll(List<CacheEntry> batch) {
+		if (batch != null) {
+			batch.forEach(entry -> put(entry.getKey(), entry.getValue(), entry.getVersion(), entry.getAliases()));
+		}
+	}
+
+	@Override
+	public void delete(String... keys) {
+		entries.invalidateAll(Arrays.asList(keys));
+	}
+
+	@Override
+	public <T> T get(String key, Class<T> type) {
+		Entry entry = entries.getIfPresent(key);
+		return entry == null || entry.payload == null ? null : (T) SerializationUtils.deserialize(entry.payload);
+	}
+
+	@Override
+	public <T> T get(String key, Class<T> type, Runnable refresh) {
+		return read(key, entries.getIfPresent(key), refresh);
+	}
+
+	@Override
+	public <T> T resolve(String alias, Class<T> type) {
+		Entry pointer = entries.getIfPresent(alias);
+		return pointer == null || pointer.target == null ? null : get(pointer.target, type);
+	}
+
+	@Override
+	public <T> T resolve(String alias, Class<T> type, Runnable refresh) {
+		Entry pointer = entries.getIfPresent(alias);
+		if (pointer == null || pointer.target == null) {
+			return null;
+		}
+		return read(alias, entries.getIfPresent(pointer.target), refresh);
+	}
+
+	@Override
+	public <T> Map<String, T> getAll(List<String> keys, Class<T> type) {
+		Map<String, T> values = new HashMap<>();
+		keys.forEach(key -> put(values, key, get(key, type)));
+		return values;
+	}
+
+	@Override
+	public <T> Map<String, T> resolveAll(List<String> aliases, Class<T> type) {
+		Map<String, T> values = new HashMap<>();
+		aliases.forEach(alias -> put(values, alias, resolve(alias, type)));
+		return values;
+	}
+
+	@Override
+	public boolean contains(String key) {
+		return entries.getIfPresent(key) != null;
+	}
+
+	@Override
+	public void flush() {
+		entries.invalidateAll();
+	}
+
+	private static <T> void put(Map<String, T> values, String key, T value) {
+		if (value != null) {
+			values.put(key, value);
+		}
+	}
+
+	private void alias(String key, String... aliases) {
+		for (String alias : aliases) {
+			entries.put(alias, new Entry(null, key, 0));
+		}
+	}
+
+	private <T> T read(String key, Entry entry, Runnable refresh) {
+		if (entry == null || entry.payload == null) {
+			return null;
+		}
+
+		if (ttlMillis > 0 && refreshAhead.isHot(key)) {
+			refreshAhead.refreshIfExpiring(key, ttlMillis - (System.currentTimeMillis() - entry.written), ttlMillis, refresh);
+		}
+		return (T) SerializationUtils.deserialize(entry.payload);
+	}
+
+	private static class Entry {
+		private final byte[] payload;
+		private final String target;
+		private final long version;
+		private final long written = System.currentTimeMillis();
+
+		private Entry(byte[] payload, String target, long version) {
+			this.payload = payload;
+			this.target = target;
+			this.version = version;
+		}
+	}
+
+}
@@ -0,0 +1,17 @@
+package fm.pattern.tokamak.server.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component("clientCache")
+@ConditionalOnProperty(name = "cache.provider", havingValue = "local")
+class LocalClientCache extends LocalCache {
+
+	@Autowired
+	public LocalClientCache(RefreshAhead refreshAhead, @Value("${cache.local.maximumSize:100000}") Long maximumSize, @Value("${cache.ttlSeconds:3600}") Long ttlSeconds) {
+		super(refreshAhead, maximumSize, ttlSeconds);
+	}
+
+}
@@ -11,11 +11,17 @@ public class PaginatedList<T> implements List<T> {
 	private final Criteria criteria;
 	private final List<T> data = new ArrayList<>();
 	private final Integer total;
+	private final String next;
 
 	public PaginatedList(List<T> data, Integer total, Criteria criteria) {
+		this(data, total, criteria, null);
+	}
+
+	public PaginatedList(List<T> data, Integer total, Criteria criteria, String next) {
 		this.data.addAll(data);
-		this.total = total <= 0 ? 0 : total;
+		this.total = total == null ? null : (total <= 0 ? 0 : total);
 		this.criteria = criteria;
+		this.next = next;
 	}
 
 	public Criteria getCriteria() {
@@ -38,19 +44,32 @@ public class PaginatedList<T> implements List<T> {
 		return total;
 	}
 
+	public String getNext() {
+		return next;
+	}
+
 	public Integer getMaxResultsOnNextPage() {
 		if (!hasNextPage()) {
 			return 0;
 		}
+		if (total == null) {
+			return null;
+		}
 		return (getRemainingResults() > getLimit() ? getLimit() : getRemainingResults());
 	}
 
 	public Integer getRemainingResults() {
+		if (total == null) {
+			return null;
+		}
 		Integer remaining = getTotal() - (getPage() * getLimit());
 		return remaining <= 0 ? 0 : remaining;
 	}
 
 	public Integer getTotalPages() {
+		if (total == null) {
+			return null;
+		}
 		if (total == 0) {
 			return 0;
 		}
@@ -58,10 +77,16 @@ public class PaginatedList<T> implements List<T> {
 	}
 
 	public boolean hasNextPage() {
+		if (criteria.hasCursor() || total == null) {
+			return next != null;
+		}
 		return getTotalPages() > 1 && (getPage() < getTotalPages());
 	}
 
 	public boolean hasPreviousPage() {
+		if (total == null) {
+			return getPage() != 1;
+		}
 		return getTotalPages() > 1 && (getPage() != 1);
 	}
 
@@ -0,0 +1,85 @@
+package fm.pattern.tokamak.server.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+public class QueryMetrics implements PublicMetrics {
+
+	private static final Logger log = LoggerFactory.getLogger(QueryMetrics.class);
+
+	private static final Pattern STATEMENT = Pattern.compile("^\\s*(select|insert|update|delete)\\b(?:.*?\\b(?:from|into)\\b)?\\s*`?(\\w+)", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+	private static final ThreadLocal<String> names = new ThreadLocal<>();
+
+	private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+	private final long slowQueryNanos;
+
+	public QueryMetrics(long slowQueryMillis) {
+		this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMillis);
+	}
+
+	public static <R> R named(String name, Supplier<R> operation) {
+		if (names.get() != null) {
+			return operation.get();
+		}
+
+		names.set(name);
+		try {
+			return operation.get();
+		}
+		finally {
+			names.remove();
+		}
+	}
+
+	public void record(String sql, Collection<String> parameterTypes, long nanos) {
+		String name = name(sql);
+		histograms.computeIfAbsent(name, key -> new LatencyHistogram()).record(nanos);
+
+		if (slowQueryNanos > 0 && nanos >= slowQueryNanos) {
+			log.warn("Slow query {} took {}ms: {} parameters {}", name, TimeUnit.NANOSECONDS.toMillis(nanos), sql, parameterTypes);
+		}
+	}
+
+	public Map<String, LatencyHistogram> getHistograms() {
+		return Collections.unmodifiableMap(histograms);
+	}
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		List<Metric<?>> metrics = new ArrayList<>();
+		histograms.forEach((name, histogram) -> {
+			String prefix = "queries." + name + ".";
+			metrics.add(new Metric<Long>(prefix + "count", histogram.getCount()));
+			metrics.add(new Metric<Double>(prefix + "mean", histogram.getMeanMillis()));
+			metrics.add(new Metric<Double>(prefix + "max", histogram.getMaxMillis()));
+			metrics.add(new Metric<Long>(prefix + "p95", histogram.getPercentileMillis(0.95)));
+			metrics.add(new Metric<Long>(prefix + "p99", histogram.getPercentileMillis(0.99)));
+		});
+		return metrics;
+	}
+
+	static String name(String sql) {
+		String name = names.get();
+		if (name != null) {
+			return name;
+		}
+
+		Matcher matcher = sql == null ? null : STATEMENT.matcher(sql);
+		return matcher != null && matcher.find() ? matcher.group(2) + "." + matcher.group(1).toLowerCase() : "other";
+	}
+
+}
@@ -0,0 +1,121 @@
+package fm.pattern.tokamak.server.repository;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class QueryRegistry {
+
+	private final Map<Class<?>, Map<String, Lookup>> lookups;
+
+	@Autowired
+	public QueryRegistry(EntityManagerFactory entityManagerFactory) {
+		Map<Class<?>, Map<String, Lookup>> lookups = new HashMap<>();
+		EntityManager em = entityManagerFactory.createEntityManager();
+		try {
+			for (EntityType<?> type : entityManagerFactory.getMetamodel().getEntities()) {
+				register(entityManagerFactory, em, type, lookups);
+			}
+		}
+		finally {
+			em.close();
+		}
+		this.lookups = Collections.unmodifiableMap(lookups);
+	}
+
+	private static void register(EntityManagerFactory entityManagerFactory, EntityManager em, EntityType<?> type, Map<Class<?>, Map<String, Lookup>> lookups) {
+		Class<?> javaType = type.getJavaType();
+		if (!javaType.isAnnotationPresent(Entity.class)) {
+			return;
+		}
+
+		String entity = javaType.getAnnotation(Entity.class).name();
+		NamedEntityGraph graph = javaType.getAnnotation(NamedEntityGraph.class);
+
+		Map<String, Lookup> keys = new HashMap<>();
+		for (Attribute<?, ?> attribute : type.getAttributes()) {
+			if (!(attribute.getJavaMember() instanceof Field) || !String.class.equals(attribute.getJavaType())) {
+				continue;
+			}
+
+			Field field = (Field) attribute.getJavaMember();
+			Column column = field.getAnnotation(Column.class);
+			if (column == null || !column.unique()) {
+				continue;
+			}
+
+			String key = attribute.getName();
+			Lookup lookup = new Lookup(entity + ".findBy." + key, entity + ".countOthersBy." + key, graph == null ? null : graph.name(), field);
+			entityManagerFactory.addNamedQuery(lookup.getName(), em.createQuery("from " + entity + " entity where entity." + key + " = :value"));
+			entityManagerFactory.addNamedQuery(lookup.getUniquenessCheck(), em.createQuery("select count(entity.id) from " + entity + " entity where entity." + key + " = :value and entity.id != :id"));
+			keys.put(key, lookup);
+		}
+		lookups.put(javaType, Collections.unmodifiableMap(keys));
+	}
+
+	public Lookup lookup(Class<?> type, String key) {
+		for (Class<?> candidate = type; candidate != null; candidate = candidate.getSuperclass()) {
+			Map<String, Lookup> keys = lookups.get(candidate);
+			if (keys != null) {
+				Lookup lookup = keys.get(key);
+				if (lookup == null) {
+					throw new IllegalArgumentException(type.getSimpleName() + " cannot be looked up by '" + key + "', valid keys are " + keys.keySet());
+				}
+				return lookup;
+			}
+		}
+		throw new IllegalArgumentException(type.getSimpleName() + " is not a registered entity.");
+	}
+
+	public static class Lookup {
+
+		private final String name;
+		private final String uniquenessCheck;
+		private final String graph;
+		private final Field field;
+
+		Lookup(String name, String uniquenessCheck, String graph, Field field) {
+			this.name = name;
+			this.uniquenessCheck = uniquenessCheck;
+			this.graph = graph;
+			this.field = field;
+			this.field.setAccessible(true);
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getUniquenessCheck() {
+			return uniquenessCheck;
+		}
+
+		public String getGraph() {
+			return graph;
+		}
+
+		public Object valueOf(Object entity) {
+			try {
+				return field.get(entity);
+			}
+			catch (IllegalAccessException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,84 @@
+package fm.pattern.tokamak.server.repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "datasource.instrumentation.enabled", havingValue = "true")
+class QueryStatisticsEndpoint extends AbstractEndpoint<Map<String, Object>> {
+
+	private final QueryMetrics queryMetrics;
+	private final EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	public QueryStatisticsEndpoint(QueryMetrics queryMetrics, EntityManagerFactory entityManagerFactory) {
+		super("queries");
+		this.queryMetrics = queryMetrics;
+		this.entityManagerFactory = entityManagerFactory;
+	}
+
+	@Override
+	public Map<String, Object> invoke() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("statements", statements());
+		result.put("hibernate", hibernate(entityManagerFactory.unwrap(SessionFactory.class).getStatistics()));
+		return result;
+	}
+
+	private Map<String, Object> statements() {
+		Map<String, Object> statements = new LinkedHashMap<>();
+		queryMetrics.getHistograms().forEach((name, histogram) -> {
+			Map<String, Object> values = new LinkedHashMap<>();
+			values.put("count", histogram.getCount());
+			values.put("meanMillis", histogram.getMeanMillis());
+			values.put("maxMillis", histogram.getMaxMillis());
+			values.put("p50Millis", histogram.getPercentileMillis(0.50));
+			values.put("p95Millis", histogram.getPercentileMillis(0.95));
+			values.put("p99Millis", histogram.getPercentileMillis(0.99));
+			values.put("buckets", histogram.getBuckets());
+			statements.put(name, values);
+		});
+		return statements;
+	}
+
+	private Map<String, Object> hibernate(Statistics statistics) {
+		Map<String, Object> values = new LinkedHashMap<>();
+		values.put("enabled", statistics.isStatisticsEnabled());
+		values.put("queryExecutionCount", statistics.getQueryExecutionCount());
+		values.put("queryExecutionMaxTime", statistics.getQueryExecutionMaxTime());
+		values.put("queryExecutionMaxTimeQueryString", statistics.getQueryExecutionMaxTimeQueryString());
+		values.put("prepareStatementCount", statistics.getPrepareStatementCount());
+		values.put("entityLoadCount", statistics.getEntityLoadCount());
+		values.put("entityFetchCount", statistics.getEntityFetchCount());
+		values.put("collectionLoadCount", statistics.getCollectionLoadCount());
+		values.put("collectionFetchCount", statistics.getCollectionFetchCount());
+		values.put("flushCount", statistics.getFlushCount());
+		values.put("sessionOpenCount", statistics.getSessionOpenCount());
+		values.put("transactionCount", statistics.getTransactionCount());
+		values.put("optimisticFailureCount", statistics.getOptimisticFailureCount());
+
+		Map<String, Object> queries = new LinkedHashMap<>();
+		for (String query : statistics.getQueries()) {
+			QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+			Map<String, Object> queryValues = new LinkedHashMap<>();
+			queryValues.put("executionCount", queryStatistics.getExecutionCount());
+			queryValues.put("executionAvgTime", queryStatistics.getExecutionAvgTime());
+			queryValues.put("executionMaxTime", queryStatistics.getExecutionMaxTime());
+			queryValues.put("executionRowCount", queryStatistics.getExecutionRowCount());
+			queries.put(query, queryValues);
+		}
+		values.put("queries", queries);
+		return values;
+	}
+
+}
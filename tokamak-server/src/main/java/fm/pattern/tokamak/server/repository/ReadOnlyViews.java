@@ -0,0 +1,79 @@
+package fm.pattern.tokamak.server.repository;
+
+import java.io.ObjectStreamException;
+import java.lang.reflect.Method;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.cglib.proxy.Callback;
+import org.springframework.cglib.proxy.Enhancer;
+import org.springframework.cglib.proxy.MethodInterceptor;
+import org.springframework.cglib.proxy.MethodProxy;
+import org.springframework.objenesis.Objenesis;
+import org.springframework.objenesis.ObjenesisStd;
+import org.springframework.util.ReflectionUtils;
+
+@SuppressWarnings("unchecked")
+final class ReadOnlyViews {
+
+	private static final Objenesis objenesis = new ObjenesisStd(true);
+	private static final ConcurrentMap<Class<?>, Class<?>> views = new ConcurrentHashMap<>();
+
+	private ReadOnlyViews() {
+
+	}
+
+	static <T> T of(T entity) {
+		Class<?> type = entity.getClass();
+		T view = (T) objenesis.newInstance(views.computeIfAbsent(type, ReadOnlyViews::define));
+		copy(type, entity, view);
+		return view;
+	}
+
+	private static Class<?> define(Class<?> type) {
+		Enhancer enhancer = new Enhancer();
+		enhancer.setSuperclass(type);
+		enhancer.setInterfaces(new Class<?>[] { Replaceable.class });
+		enhancer.setUseFactory(false);
+		enhancer.setCallbackType(MethodInterceptor.class);
+
+		Class<?> view = enhancer.createClass();
+		Enhancer.registerStaticCallbacks(view, new Callback[] { new ReadOnly(type) });
+		return view;
+	}
+
+	private static Object copy(Class<?> type, Object source, Object target) {
+		ReflectionUtils.doWithFields(type, field -> {
+			ReflectionUtils.makeAccessible(field);
+			field.set(target, field.get(source));
+		}, ReflectionUtils.COPYABLE_FIELDS);
+		return target;
+	}
+
+	public interface Replaceable {
+		Object writeReplace() throws ObjectStreamException;
+	}
+
+	private static class ReadOnly implements MethodInterceptor {
+		private final Class<?> type;
+
+		private ReadOnly(Class<?> type) {
+			this.type = type;
+		}
+
+		@Override
+		public Object intercept(Object view, Method method, Object[] args, MethodProxy proxy) throws Throwable {
+			if (method.getName().startsWith("set") && args.length == 1) {
+				throw new UnsupportedOperationException(type.getSimpleName() + " instances served from the reference data registry are read-only.");
+			}
+			if (method.getName().equals("writeReplace") && args.length == 0) {
+				return copy(type, view, objenesis.newInstance(type));
+			}
+
+			Object result = proxy.invokeSuper(view, args);
+			return result instanceof Date ? ((Date) result).clone() : result;
+		}
+	}
+
+}
@@ -0,0 +1,348 @@
+package fm.pattern.tokamak.server.repository;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.jedis.JedisConverters;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import redis.clients.jedis.BinaryJedisCluster;
+import redis.clients.jedis.exceptions.JedisException;
+
+@SuppressWarnings({ "unchecked", "rawtypes" })
+abstract class RedisCache implements Cache {
+
+	private static final byte[] PUT_SCRIPT = ("local current = redis.call('HGET', KEYS[1], 'v') " +
+		"if ARGV[4] == '0' and current and tonumber(current) > tonumber(ARGV[1]) then return 0 end " +
+		"redis.call('HMSET', KEYS[1], 'v', ARGV[1], 'd', ARGV[2]) " +
+		"local ttl = tonumber(ARGV[3]) " +
+		"if ttl > 0 then redis.call('EXPIRE', KEYS[1], ttl) else redis.call('PERSIST', KEYS[1]) end " +
+		"for i = 2, #KEYS do if ttl > 0 then redis.call('SET', KEYS[i], KEYS[1], 'EX', ttl) else redis.call('SET', KEYS[i], KEYS[1]) end end " +
+		"return 1").getBytes(UTF_8);
+
+	private static final RedisScript<Object> RESOLVE_SCRIPT = new DefaultRedisScript<>("local key = redis.call('GET', KEYS[1]) if key then return redis.call('HGET', key, 'd') end return false", Object.class);
+	private static final RedisScript<List> RESOLVE_WITH_TTL_SCRIPT = new DefaultRedisScript<>("local key = redis.call('GET', KEYS[1]) if key then local value = redis.call('HGET', key, 'd') if value then return {value, redis.call('PTTL', key)} end end return false", List.class);
+
+	private static final byte[] RESOLVE = RESOLVE_SCRIPT.getScriptAsString().getBytes(UTF_8);
+	private static final byte[] PAYLOAD = "d".getBytes(UTF_8);
+	private static final long FLUSH_BATCH_SIZE = 500;
+	private static final String LAYOUT = "v2:";
+
+	private final String namespace;
+	private final boolean clustered;
+	private final RedisTemplate<String, Object> template;
+	private final CircuitBreaker breaker;
+	private final RefreshAhead refreshAhead;
+	private final long ttlSeconds;
+	private final RedisSerializer<String> keySerializer = new StringRedisSerializer();
+
+	RedisCache(String namespace, boolean clustered, RedisTemplate<String, Object> template, CircuitBreaker breaker, RefreshAhead refreshAhead, Long ttlSeconds) {
+		this.namespace = namespace;
+		this.clustered = clustered;
+		this.template = template;
+		this.template.setKeySerializer(keySerializer);
+		this.breaker = breaker;
+		this.refreshAhead = refreshAhead;
+		this.ttlSeconds = ttlSeconds == null ? 0 : ttlSeconds;
+	}
+
+	@Override
+	public <T> T put(String key, T value) {
+		return put(key, value, new String[0]);
+	}
+
+	@Override
+	public <T> T put(String key, T value, String... aliases) {
+		write(Collections.singletonList(new CacheEntry(key, value, 0, aliases)), true);
+		return value;
+	}
+
+	@Override
+	public <T> T put(String key, T value, long version, String... aliases) {
+		write(Collections.singletonList(new CacheEntry(key, value, version, aliases)), false);
+		return value;
+	}
+
+	@Override
+	public void putAll(List<CacheEntry> entries) {
+		if (entries != null && !entries.isEmpty()) {
+			write(entries, false);
+		}
+	}
+
+	@Override
+	public void delete(String... keys) {
+		execute(() -> {
+			if (clustered) {
+				Arrays.stream(keys).forEach(key -> template.delete(key(key)));
+			}
+			else {
+				template.delete(Arrays.stream(keys).map(this::key).collect(Collectors.toList()));
+			}
+			return null;
+		}, null);
+	}
+
+	@Override
+	public boolean contains(String key) {
+		return execute(() -> template.hasKey(key(key)), false);
+	}
+
+	@Override
+	public <T> T get(String key, Class<T> type) {
+		return execute(() -> (T) template.execute((RedisCallback<Object>) connection -> valueSerializer().deserialize(connection.hGet(keySerializer.serialize(key(key)), PAYLOAD))), null);
+	}
+
+	@Override
+	public <T> T get(String key, Class<T> type, Runnable refresh) {
+		if (ttlSeconds <= 0 || !refreshAhead.isHot(key)) {
+			return get(key, type);
+		}
+
+		return execute(() -> {
+			final byte[] raw = keySerializer.serialize(key(key));
+			List<Object> results = clustered ? readWithTtl(raw) : template.executePipelined((RedisCallback<Object>) connection -> {
+				connection.hGet(raw, PAYLOAD);
+				connection.pTtl(raw);
+				return null;
+			});
+
+			T value = (T) results.get(0);
+			if (value != null) {
+				refreshAhead.refreshIfExpiring(key, (Long) results.get(1), TimeUnit.SECONDS.toMillis(ttlSeconds), refresh);
+			}
+			return value;
+		}, null);
+	}
+
+	@Override
+	public <T> T resolve(String alias, Class<T> type) {
+		if (clustered) {
+			return execute(() -> {
+				byte[] primary = template.execute((RedisCallback<byte[]>) connection -> connection.get(keySerializer.serialize(key(alias))));
+				return primary == null ? null : (T) template.execute((RedisCallback<Object>) connection -> valueSerializer().deserialize(connection.hGet(primary, PAYLOAD)));
+			}, null);
+		}
+		return execute(() -> (T) template.execute(RESOLVE_SCRIPT, keySerializer, valueSerializer(), Collections.singletonList(key(alias))), null);
+	}
+
+	@Override
+	public <T> T resolve(String alias, Class<T> type, Runnable refresh) {
+		if (ttlSeconds <= 0 || !refreshAhead.isHot(alias)) {
+			return resolve(alias, type);
+		}
+
+		return execute(() -> {
+			List<Object> results = null;
+			if (clustered) {
+				byte[] primary = template.execute((RedisCallback<byte[]>) connection -> connection.get(keySerializer.serialize(key(alias))));
+				results = primary == null ? null : readWithTtl(primary);
+			}
+			else {
+				results = template.execute(RESOLVE_WITH_TTL_SCRIPT, keySerializer, valueSerializer(), Collections.singletonList(key(alias)));
+			}
+
+			if (results == null || results.isEmpty() || results.get(0) == null) {
+				return null;
+			}
+
+			refreshAhead.refreshIfExpiring(alias, (Long) results.get(1), TimeUnit.SECONDS.toMillis(ttlSeconds), refresh);
+			return (T) results.get(0);
+		}, null);
+	}
+
+	@Override
+	public <T> Map<String, T> getAll(List<String> keys, Class<T> type) {
+		if (clustered) {
+			return collect(keys, keys.stream().map(key -> get(key, type)).collect(Collectors.toList()));
+		}
+
+		return execute(() -> collect(keys, (List<T>) template.executePipelined((RedisCallback<Object>) connection -> {
+			keys.forEach(key -> connection.hGet(keySerializer.serialize(key(key)), PAYLOAD));
+			return null;
+		})), Collections.emptyMap());
+	}
+
+	@Override
+	public <T> Map<String, T> resolveAll(List<String> aliases, Class<T> type) {
+		if (clustered) {
+			return collect(aliases, aliases.stream().map(alias -> resolve(alias, type)).collect(Collectors.toList()));
+		}
+
+		return execute(() -> collect(aliases, (List<T>) template.executePipelined((RedisCallback<Object>) connection -> {
+			aliases.forEach(alias -> connection.eval(RESOLVE, ReturnType.VALUE, 1, keySerializer.serialize(key(alias))));
+			return null;
+		})), Collections.emptyMap());
+	}
+
+	@Override
+	public void flush() {
+		if (clustered) {
+			execute(() -> {
+				RedisClusterConnection connection = template.getConnectionFactory().getClusterConnection();
+				try {
+					ScanOptions options = ScanOptions.scanOptions().match(LAYOUT + namespace + ":*").count(FLUSH_BATCH_SIZE).build();
+					for (RedisClusterNode node : connection.clusterGetNodes()) {
+						if (node.isMaster()) {
+							flush(connection, node, options);
+						}
+					}
+				}
+				finally {
+					connection.close();
+				}
+				return null;
+			}, null);
+			return;
+		}
+
+		execute(() -> template.execute((RedisCallback<Object>) connection -> {
+			connection.flushDb();
+			return null;
+		}), null);
+	}
+
+	private void flush(RedisClusterConnection connection, RedisClusterNode node, ScanOptions options) {
+		try (Cursor<byte[]> cursor = connection.scan(node, options)) {
+			List<byte[]> batch = new ArrayList<>();
+			while (cursor.hasNext()) {
+				batch.add(cursor.next());
+				if (batch.size() >= FLUSH_BATCH_SIZE) {
+					delete(connection, batch);
+				}
+			}
+			delete(connection, batch);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void delete(RedisClusterConnection connection, List<byte[]> batch) {
+		if (!batch.isEmpty()) {
+			connection.del(batch.toArray(new byte[batch.size()][]));
+			batch.clear();
+		}
+	}
+
+	private void write(List<CacheEntry> entries, boolean force) {
+		execute(() -> {
+			RedisCallback<Object> callback = connection -> {
+				for (CacheEntry entry : entries) {
+					write(connection, entry, force);
+				}
+				return null;
+			};
+			return clustered ? template.execute(callback) : template.executePipelined(callback);
+		}, null);
+	}
+
+	private void write(RedisConnection connection, CacheEntry entry, boolean force) {
+		byte[] primary = keySerializer.serialize(key(entry.getKey()));
+		byte[] payload = valueSerializer().serialize(entry.getValue());
+		byte[] version = Long.toString(Math.max(0, entry.getVersion())).getBytes(UTF_8);
+
+		List<byte[]> keys = new ArrayList<>();
+		keys.add(primary);
+		if (!clustered) {
+			Arrays.stream(entry.getAliases()).forEach(alias -> keys.add(keySerializer.serialize(key(alias))));
+		}
+
+		List<byte[]> keysAndArgs = new ArrayList<>(keys);
+		keysAndArgs.addAll(Arrays.asList(version, payload, Long.toString(ttlSeconds).getBytes(UTF_8), (force ? "1" : "0").getBytes(UTF_8)));
+		Object written = eval(connection, keys.size(), keysAndArgs.toArray(new byte[keysAndArgs.size()][]));
+		if (!clustered || !Long.valueOf(1).equals(written)) {
+			return;
+		}
+
+		for (String alias : entry.getAliases()) {
+			byte[] raw = keySerializer.serialize(key(alias));
+			if (ttlSeconds > 0) {
+				connection.setEx(raw, ttlSeconds, primary);
+			}
+			else {
+				connection.set(raw, primary);
+			}
+		}
+	}
+
+	private static Object eval(RedisConnection connection, int numKeys, byte[]... keysAndArgs) {
+		Object nativeConnection = connection.getNativeConnection();
+		if (!(nativeConnection instanceof BinaryJedisCluster)) {
+			return connection.eval(PUT_SCRIPT, ReturnType.INTEGER, numKeys, keysAndArgs);
+		}
+
+		try {
+			return ((BinaryJedisCluster) nativeConnection).eval(PUT_SCRIPT, numKeys, keysAndArgs);
+		}
+		catch (JedisException e) {
+			throw JedisConverters.toDataAccessException(e);
+		}
+	}
+
+	private String key(String key) {
+		return clustered ? LAYOUT + namespace + ":{" + key + "}" : LAYOUT + key;
+	}
+
+	private static <T> Map<String, T> collect(List<String> keys, List<T> values) {
+		Map<String, T> found = new HashMap<>();
+		for (int i = 0; i < keys.size(); i++) {
+			if (values.get(i) != null) {
+				found.put(keys.get(i), values.get(i));
+			}
+		}
+		return found;
+	}
+
+	private List<Object> readWithTtl(byte[] key) {
+		return template.execute((RedisCallback<List<Object>>) connection -> Arrays.asList(valueSerializer().deserialize(connection.hGet(key, PAYLOAD)), connection.pTtl(key)));
+	}
+
+	private <R> R execute(Supplier<R> operation, R fallback) {
+		if (!breaker.allowRequest()) {
+			return fallback;
+		}
+
+		try {
+			R result = operation.get();
+			breaker.success();
+			return result == null ? fallback : result;
+		}
+		catch (DataAccessException e) {
+			breaker.failure();
+			return fallback;
+		}
+		catch (Exception e) {
+			breaker.success();
+			return fallback;
+		}
+	}
+
+	private RedisSerializer<Object> valueSerializer() {
+		return (RedisSerializer<Object>) template.getValueSerializer();
+	}
+
+}
@@ -0,0 +1,168 @@
+package fm.pattern.tokamak.server.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.persistence.Entity;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import fm.pattern.tokamak.server.model.Audience;
+import fm.pattern.tokamak.server.model.Authority;
+import fm.pattern.tokamak.server.model.GrantType;
+import fm.pattern.tokamak.server.model.PasswordPolicy;
+import fm.pattern.tokamak.server.model.Role;
+import fm.pattern.tokamak.server.model.Scope;
+
+@Component
+@SuppressWarnings("unchecked")
+public class ReferenceDataRegistry {
+
+	private static final Logger log = LoggerFactory.getLogger(ReferenceDataRegistry.class);
+	private static final List<Class<?>> types = Collections.unmodifiableList(Arrays.asList(Scope.class, Authority.class, Audience.class, GrantType.class, Role.class, PasswordPolicy.class));
+
+	private final EntityManagerFactory entityManagerFactory;
+	private final QueryRegistry queries;
+	private final TableVersions tableVersions;
+	private final boolean enabled;
+	private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(null, Collections.emptyMap(), Collections.emptyMap()));
+
+	@Autowired
+	public ReferenceDataRegistry(EntityManagerFactory entityManagerFactory, QueryRegistry queries, TableVersions tableVersions, @Value("${referenceData.enabled:true}") Boolean enabled, @Value("${referenceData.refreshSeconds:30}") Long refreshSeconds) {
+		this.entityManagerFactory = entityManagerFactory;
+		this.queries = queries;
+		this.tableVersions = tableVersions;
+		this.enabled = enabled;
+
+		if (enabled) {
+			reload();
+			if (refreshSeconds > 0) {
+				tableVersions.schedule(refreshSeconds, this::refresh);
+			}
+		}
+	}
+
+	public <T> T findByName(Class<T> type, String name) {
+		return available() ? (T) snapshot.get().byName.getOrDefault(type, Collections.emptyMap()).get(name) : null;
+	}
+
+	public <T> List<T> findExistingById(Class<T> type, List<String> ids, Function<List<String>, List<T>> loader) {
+		if (!available()) {
+			return loader.apply(ids);
+		}
+
+		Map<String, Object> entities = snapshot.get().byId.getOrDefault(type, Collections.emptyMap());
+		List<T> found = new ArrayList<>();
+		List<String> missing = new ArrayList<>();
+		for (String id : ids) {
+			T entity = (T) entities.get(id);
+			if (entity != null) {
+				found.add(entity);
+			}
+			else {
+				missing.add(id);
+			}
+		}
+
+		if (!missing.isEmpty()) {
+			found.addAll(loader.apply(missing));
+		}
+		return found;
+	}
+
+	public String getVersion() {
+		String version = snapshot.get().version;
+		return version == null ? "0" : version;
+	}
+
+	public void invalidate(Class<?> type) {
+		if (!enabled || !types.contains(type)) {
+			return;
+		}
+
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			reload();
+			return;
+		}
+
+		if (!TransactionSynchronizationManager.hasResource(this)) {
+			TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCommit() {
+					reload();
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(ReferenceDataRegistry.this);
+				}
+			});
+		}
+	}
+
+	public synchronized void reload() {
+		String version = tableVersions.get(types);
+		EntityManager em = entityManagerFactory.createEntityManager();
+		try {
+			Map<Class<?>, Map<String, Object>> byId = new HashMap<>();
+			Map<Class<?>, Map<String, Object>> byName = new HashMap<>();
+
+			for (Class<?> type : types) {
+				List<Object> entities = ((List<Object>) em.createQuery("from " + type.getAnnotation(Entity.class).name()).getResultList()).stream().map(ReadOnlyViews::of).collect(Collectors.toList());
+				QueryRegistry.Lookup id = queries.lookup(type, "id");
+				QueryRegistry.Lookup name = queries.lookup(type, "name");
+				byId.put(type, Collections.unmodifiableMap(entities.stream().collect(Collectors.toMap(entity -> (String) id.valueOf(entity), entity -> entity))));
+				byName.put(type, Collections.unmodifiableMap(entities.stream().collect(Collectors.toMap(entity -> (String) name.valueOf(entity), entity -> entity))));
+			}
+
+			snapshot.set(new Snapshot(version, Collections.unmodifiableMap(byId), Collections.unmodifiableMap(byName)));
+		}
+		finally {
+			em.close();
+		}
+	}
+
+	void refresh() {
+		try {
+			if (!tableVersions.get(types).equals(snapshot.get().version)) {
+				reload();
+			}
+		}
+		catch (RuntimeException e) {
+			log.warn("Unable to refresh the reference data registry: " + e.getMessage());
+		}
+	}
+
+	private boolean available() {
+		return enabled && !TransactionSynchronizationManager.hasResource(this);
+	}
+
+	private static class Snapshot {
+		private final String version;
+		private final Map<Class<?>, Map<String, Object>> byId;
+		private final Map<Class<?>, Map<String, Object>> byName;
+
+		private Snapshot(String version, Map<Class<?>, Map<String, Object>> byId, Map<Class<?>, Map<String, Object>> byName) {
+			this.version = version;
+			this.byId = byId;
+			this.byName = byName;
+		}
+	}
+
+}
@@ -0,0 +1,70 @@
+package fm.pattern.tokamak.server.repository;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+@Component
+class RefreshAhead {
+
+	private final boolean enabled;
+	private final double ratio;
+	private final AccessTracker tracker;
+	private final ThreadPoolExecutor executor;
+	private final Set<String> inflight = ConcurrentHashMap.newKeySet();
+
+	@Autowired
+	public RefreshAhead(@Value("${cache.refreshAhead.enabled:true}") Boolean enabled, @Value("${cache.refreshAhead.ratio:0.2}") Double ratio, @Value("${cache.refreshAhead.hotThreshold:20}") Integer hotThreshold, @Value("${cache.refreshAhead.windowSeconds:60}") Long windowSeconds, @Value("${cache.refreshAhead.trackedKeys:10000}") Integer trackedKeys, @Value("${cache.refreshAhead.threads:2}") Integer threads, @Value("${cache.refreshAhead.queueSize:100}") Integer queueSize) {
+		this.enabled = enabled;
+		this.ratio = ratio;
+		this.tracker = new AccessTracker(hotThreshold, TimeUnit.SECONDS.toMillis(windowSeconds), trackedKeys);
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize), new ThreadFactoryBuilder().setNameFormat("cache-refresh-%d").setDaemon(true).build());
+	}
+
+	boolean isHot(String key) {
+		return enabled && tracker.record(key);
+	}
+
+	void refreshIfExpiring(String key, Long remainingMillis, long ttlMillis, Runnable refresh) {
+		if (refresh == null || remainingMillis == null || remainingMillis < 0 || remainingMillis > ttlMillis * ratio) {
+			return;
+		}
+		if (!inflight.add(key)) {
+			return;
+		}
+
+		try {
+			executor.execute(() -> {
+				try {
+					refresh.run();
+				}
+				catch (Exception e) {
+
+				}
+				finally {
+					inflight.remove(key);
+				}
+			});
+		}
+		catch (RejectedExecutionException e) {
+			inflight.remove(key);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+}
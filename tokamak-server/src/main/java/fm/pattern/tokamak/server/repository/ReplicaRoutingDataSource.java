@@ -0,0 +1,139 @@
+package fm.pattern.tokamak.server.repository;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+	public static final String PRIMARY = "primary";
+
+	private final ThreadLocal<Long> lastWrite = new ThreadLocal<>();
+	private final List<Replica> replicas = new ArrayList<>();
+	private final AtomicInteger next = new AtomicInteger();
+	private final long maxLagSeconds;
+	private final long stickyMillis;
+	private final long checkIntervalMillis;
+	private final Function<DataSource, Long> lag;
+	private final LongSupplier clock;
+
+	private ScheduledExecutorService checker;
+
+	public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, long maxLagSeconds, long stickyMillis, long checkIntervalMillis) {
+		this(primary, replicas, maxLagSeconds, stickyMillis, checkIntervalMillis, ReplicaRoutingDataSource::replicationLag, System::currentTimeMillis);
+	}
+
+	ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, long maxLagSeconds, long stickyMillis, long checkIntervalMillis, Function<DataSource, Long> lag, LongSupplier clock) {
+		this.maxLagSeconds = maxLagSeconds;
+		this.stickyMillis = stickyMillis;
+		this.checkIntervalMillis = checkIntervalMillis;
+		this.lag = lag;
+		this.clock = clock;
+
+		Map<Object, Object> targets = new HashMap<>(replicas);
+		targets.put(PRIMARY, primary);
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+
+		replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		super.afterPropertiesSet();
+		if (!replicas.isEmpty() && checkIntervalMillis > 0) {
+			checker = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("replica-health-%d").setDaemon(true).build());
+			checker.scheduleWithFixedDelay(this::check, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@Override
+	public void destroy() {
+		if (checker != null) {
+			checker.shutdownNow();
+		}
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			if (TransactionSynchronizationManager.isActualTransactionActive()) {
+				lastWrite.set(clock.getAsLong());
+			}
+			return PRIMARY;
+		}
+
+		Long written = lastWrite.get();
+		if (written != null && clock.getAsLong() - written < stickyMillis) {
+			return PRIMARY;
+		}
+
+		List<Replica> healthy = replicas.stream().filter(replica -> replica.healthy).collect(Collectors.toList());
+		if (healthy.isEmpty()) {
+			return PRIMARY;
+		}
+		return healthy.get(Math.abs(next.getAndIncrement() % healthy.size())).name;
+	}
+
+	public void check() {
+		for (Replica replica : replicas) {
+			Long seconds = lag.apply(replica.dataSource);
+			replica.lag = seconds;
+			replica.healthy = seconds != null && seconds <= maxLagSeconds;
+		}
+	}
+
+	public Map<String, Long> getReplicationLag() {
+		Map<String, Long> lags = new HashMap<>();
+		replicas.forEach(replica -> lags.put(replica.name, replica.lag));
+		return lags;
+	}
+
+	static Long replicationLag(DataSource dataSource) {
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery("SHOW SLAVE STATUS")) {
+			if (!result.next()) {
+				return 0L;
+			}
+			long seconds = result.getLong("Seconds_Behind_Master");
+			return result.wasNull() ? null : seconds;
+		}
+		catch (SQLException e) {
+			return null;
+		}
+	}
+
+	private static class Replica {
+
+		private final String name;
+		private final DataSource dataSource;
+		private volatile boolean healthy = false;
+		private volatile Long lag;
+
+		private Replica(String name, DataSource dataSource) {
+			this.name = name;
+			this.dataSource = dataSource;
+		}
+
+	}
+
+}
@@ -0,0 +1,94 @@
+package fm.pattern.tokamak.server.repository;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import fm.pattern.tokamak.server.model.PersistentEntity;
+
+@Component
+public class RepresentationCache {
+
+	private final Cache<String, Serialized> entries;
+	private final ReferenceDataRegistry referenceData;
+	private final ObjectMapper objectMapper;
+	private final boolean enabled;
+
+	@Autowired
+	public RepresentationCache(ReferenceDataRegistry referenceData, ObjectMapper objectMapper, @Value("${cache.representations.enabled:true}") Boolean enabled, @Value("${cache.representations.maximumSize:10000}") Long maximumSize) {
+		this.referenceData = referenceData;
+		this.objectMapper = objectMapper;
+		this.enabled = enabled;
+		this.entries = Caffeine.newBuilder().maximumSize(maximumSize).build();
+	}
+
+	public Serialized get(PersistentEntity entity, Supplier<?> representation) {
+		String version = version(entity);
+		if (!enabled) {
+			return new Serialized(version, serialize(representation.get()));
+		}
+
+		String key = key(entity.getClass(), entity.getId());
+		Serialized cached = entries.getIfPresent(key);
+		if (cached != null && cached.version.equals(version)) {
+			return cached;
+		}
+
+		Serialized serialized = new Serialized(version, serialize(representation.get()));
+		entries.put(key, serialized);
+		return serialized;
+	}
+
+	public String getETag(PersistentEntity entity) {
+		return "\"" + version(entity) + "\"";
+	}
+
+	public void evict(Class<?> type, String id) {
+		entries.invalidate(key(type, id));
+	}
+
+	private String version(PersistentEntity entity) {
+		return Long.toHexString(entity.getUpdated().getTime()) + "-" + referenceData.getVersion();
+	}
+
+	private byte[] serialize(Object representation) {
+		try {
+			return objectMapper.writeValueAsBytes(representation);
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalStateException("Unable to serialize " + representation.getClass().getSimpleName(), e);
+		}
+	}
+
+	private static String key(Class<?> type, String id) {
+		return type.getSimpleName() + ":" + id;
+	}
+
+	public static class Serialized {
+
+		private final String version;
+		private final byte[] body;
+
+		private Serialized(String version, byte[] body) {
+			this.version = version;
+			this.body = body;
+		}
+
+		public String getETag() {
+			return "\"" + version + "\"";
+		}
+
+		public byte[] getBody() {
+			return body;
+		}
+
+	}
+
+}
@@ -0,0 +1,67 @@
+package fm.pattern.tokamak.server.repository;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.persistence.Entity;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+@Component
+public class TableVersions implements DisposableBean {
+
+	private final EntityManagerFactory entityManagerFactory;
+	private final Map<List<Class<?>>, String> queries = new ConcurrentHashMap<>();
+
+	private ScheduledExecutorService poller;
+
+	@Autowired
+	public TableVersions(EntityManagerFactory entityManagerFactory) {
+		this.entityManagerFactory = entityManagerFactory;
+	}
+
+	@SuppressWarnings("unchecked")
+	public String get(List<Class<?>> types) {
+		String query = queries.computeIfAbsent(types, key -> key.stream().map(type -> "select count(id), max(updated) from " + type.getAnnotation(Entity.class).name()).collect(Collectors.joining(" union all ")));
+
+		EntityManager em = entityManagerFactory.createEntityManager();
+		try {
+			List<Object[]> rows = em.createNativeQuery(query).getResultList();
+			return rows.stream().map(row -> stamp((Number) row[0], (Date) row[1])).collect(Collectors.joining("."));
+		}
+		finally {
+			em.close();
+		}
+	}
+
+	public synchronized void schedule(long periodSeconds, Runnable task) {
+		if (poller == null) {
+			poller = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("table-versions-%d").setDaemon(true).build());
+		}
+		poller.scheduleWithFixedDelay(task, 0, periodSeconds, TimeUnit.SECONDS);
+	}
+
+	@Override
+	public synchronized void destroy() {
+		if (poller != null) {
+			poller.shutdownNow();
+		}
+	}
+
+	private static String stamp(Number count, Date updated) {
+		return Long.toHexString(count.longValue()) + "-" + Long.toHexString(updated == null ? 0 : updated.getTime());
+	}
+
+}
@@ -0,0 +1,20 @@
+package fm.pattern.tokamak.server.repository;
+
+public enum TotalCount {
+
+	EXACT, CACHED, APPROXIMATE, NONE;
+
+	public static TotalCount parse(String value) {
+		if (value == null || value.trim().isEmpty()) {
+			return EXACT;
+		}
+
+		for (TotalCount count : values()) {
+			if (count.name().equalsIgnoreCase(value.trim())) {
+				return count;
+			}
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,32 @@
+package fm.pattern.tokamak.server.repository;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Component
+public class TotalCountCache {
+
+	private final com.github.benmanes.caffeine.cache.Cache<String, Long> totals;
+	private final CacheSynchronizer cacheSynchronizer;
+
+	@Autowired
+	public TotalCountCache(CacheSynchronizer cacheSynchronizer, @Value("${cache.totals.ttlSeconds:60}") Long ttlSeconds) {
+		this.cacheSynchronizer = cacheSynchronizer;
+		this.totals = Caffeine.newBuilder().expireAfterWrite(ttlSeconds, TimeUnit.SECONDS).build();
+	}
+
+	public Long get(String name, Supplier<Long> loader) {
+		return totals.get(name, key -> loader.get());
+	}
+
+	public void invalidate(String name) {
+		cacheSynchronizer.afterCommit(() -> totals.invalidate(name));
+	}
+
+}
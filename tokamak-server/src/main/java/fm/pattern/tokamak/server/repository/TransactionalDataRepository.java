@@ -66,6 +66,11 @@ class TransactionalDataRepository implements DataRepository {
 		return repository.query(query);
 	}
 
+	@Transactional
+	public Query namedQuery(String name) {
+		return repository.namedQuery(name);
+	}
+
 	@Transactional
 	public Query sqlQuery(String query) {
 		return repository.sqlQuery(query);
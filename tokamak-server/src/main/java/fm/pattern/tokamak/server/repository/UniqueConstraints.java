@@ -0,0 +1,70 @@
+package fm.pattern.tokamak.server.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+import fm.pattern.tokamak.server.validation.UniqueValue;
+
+final class UniqueConstraints {
+
+	private UniqueConstraints() {
+
+	}
+
+	static String conflict(Class<?> type, Throwable e) {
+		ConstraintViolationException violation = violation(e);
+		if (violation == null) {
+			return null;
+		}
+
+		List<UniqueValue> values = uniqueValues(type);
+		String constraint = violation.getConstraintName();
+		if (constraint == null) {
+			return values.size() == 1 ? key(values.get(0)) : null;
+		}
+
+		for (UniqueValue value : values) {
+			if (matches(constraint, value.constraint())) {
+				return key(value);
+			}
+		}
+		return null;
+	}
+
+	private static ConstraintViolationException violation(Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof ConstraintViolationException) {
+				return (ConstraintViolationException) cause;
+			}
+		}
+		return null;
+	}
+
+	private static List<UniqueValue> uniqueValues(Class<?> type) {
+		List<UniqueValue> values = new ArrayList<>();
+		for (Class<?> candidate = type; candidate != null; candidate = candidate.getSuperclass()) {
+			if (candidate.isAnnotationPresent(UniqueValue.class)) {
+				values.add(candidate.getAnnotation(UniqueValue.class));
+			}
+			if (candidate.isAnnotationPresent(UniqueValue.List.class)) {
+				values.addAll(Arrays.asList(candidate.getAnnotation(UniqueValue.List.class).value()));
+			}
+		}
+		return values;
+	}
+
+	private static boolean matches(String violated, String constraint) {
+		if (constraint.isEmpty()) {
+			return false;
+		}
+		return violated.equalsIgnoreCase(constraint) || violated.toUpperCase().endsWith("." + constraint.toUpperCase());
+	}
+
+	private static String key(UniqueValue value) {
+		return value.message().replaceAll("^\\{|\\}$", "");
+	}
+
+}
@@ -17,6 +17,7 @@
 package fm.pattern.tokamak.server.security;
 
 import java.util.HashSet;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -41,4 +42,16 @@ public class AuthenticatedClient extends BaseClientDetails implements ClientDeta
 		super.setRefreshTokenValiditySeconds(client.getRefreshTokenValiditySeconds());
 	}
 
+	public AuthenticatedClient(String clientId, String clientSecret, Set<String> scopes, Set<String> authorities, Set<String> grantTypes, Set<String> resourceIds, Integer accessTokenValiditySeconds, Integer refreshTokenValiditySeconds) {
+		super.setClientId(clientId);
+		super.setClientSecret(clientSecret);
+
+		super.setScope(scopes);
+		super.setAuthorities(authorities.stream().map(authority -> new SimpleGrantedAuthority(authority)).collect(Collectors.toCollection(HashSet::new)));
+		super.setAuthorizedGrantTypes(grantTypes);
+		super.setResourceIds(resourceIds);
+		super.setAccessTokenValiditySeconds(accessTokenValiditySeconds);
+		super.setRefreshTokenValiditySeconds(refreshTokenValiditySeconds);
+	}
+
 }
\ No newline at end of file
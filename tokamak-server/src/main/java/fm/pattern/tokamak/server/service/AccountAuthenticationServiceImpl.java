@@ -20,7 +20,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import fm.pattern.tokamak.server.model.Account;
 import fm.pattern.tokamak.server.security.AuthenticatedAccount;
@@ -37,7 +36,6 @@ class AccountAuthenticationServiceImpl implements AccountAuthenticationService {
 		this.accountService = accountService;
 	}
 
-	@Transactional(readOnly = true)
 	public UserDetails loadUserByUsername(String username) {
 		if (CurrentAuthenticatedAccountContext.hasAuthenticatedAccount()) {
 			AuthenticatedAccount account = CurrentAuthenticatedAccountContext.getAuthenticatedAccount();
@@ -0,0 +1,12 @@
+package fm.pattern.tokamak.server.service;
+
+import java.util.List;
+
+import fm.pattern.tokamak.server.model.Account;
+import fm.pattern.valex.Result;
+
+public interface AccountImportService {
+
+	List<Result<Account>> importAccounts(List<Account> accounts, boolean prehashed);
+
+}
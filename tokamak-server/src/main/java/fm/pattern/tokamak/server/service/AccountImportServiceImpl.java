@@ -0,0 +1,167 @@
+package fm.pattern.tokamak.server.service;
+
+import static java.util.stream.Collectors.toList;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import fm.pattern.tokamak.server.model.Account;
+import fm.pattern.tokamak.server.model.PasswordPolicy;
+import fm.pattern.tokamak.server.validation.PasswordValidator;
+import fm.pattern.valex.Reportable;
+import fm.pattern.valex.Result;
+import fm.pattern.valex.ValidationService;
+import fm.pattern.valex.sequences.CreateLevel1;
+import fm.pattern.valex.sequences.CreateLevel2;
+
+@Service
+class AccountImportServiceImpl extends DataServiceImpl<Account> implements AccountImportService {
+
+	private static final Pattern bcrypt = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+	private static final String insert_account = "insert into Accounts (id, created, updated, username, password, locked) values (?, ?, ?, ?, ?, ?)";
+	private static final String insert_account_role = "insert into AccountRoles (account_id, role_id) values (?, ?)";
+
+	private final PasswordEncodingService passwordEncodingService;
+	private final PasswordPolicyService passwordPolicyService;
+	private final PasswordValidator passwordValidator;
+	private final ValidationService validationService;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transaction;
+	private final ExecutorService executor;
+
+	@Autowired
+	public AccountImportServiceImpl(PasswordEncodingService passwordEncodingService, PasswordPolicyService passwordPolicyService, PasswordValidator passwordValidator, ValidationService validationService, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, @Value("${accounts.import.threads:0}") Integer threads) {
+		this.passwordEncodingService = passwordEncodingService;
+		this.passwordPolicyService = passwordPolicyService;
+		this.passwordValidator = passwordValidator;
+		this.validationService = validationService;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transaction = new TransactionTemplate(transactionManager);
+		this.executor = Executors.newFixedThreadPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), new ThreadFactoryBuilder().setNameFormat("account-import-%d").setDaemon(true).build());
+	}
+
+	public List<Result<Account>> importAccounts(List<Account> accounts, boolean prehashed) {
+		PasswordPolicy policy = passwordPolicyService.findByName("account-password-policy").orThrow();
+
+		List<Future<Result<Account>>> futures = accounts.stream().map(account -> executor.submit(() -> prepare(account, policy, prehashed))).collect(toList());
+		List<Result<Account>> results = futures.stream().map(future -> await(future)).collect(toList());
+
+		Set<String> usernames = new HashSet<>();
+		for (int i = 0; i < results.size(); i++) {
+			Result<Account> result = results.get(i);
+			if (result.accepted() && !usernames.add(result.getInstance().getUsername().toLowerCase())) {
+				results.set(i, Result.reject("account.username.conflict"));
+			}
+		}
+
+		List<Account> accepted = results.stream().filter(result -> result.accepted()).map(result -> result.getInstance()).collect(toList());
+		if (accepted.isEmpty()) {
+			return results;
+		}
+
+		try {
+			insert(accepted);
+		}
+		catch (DataIntegrityViolationException e) {
+			for (int i = 0; i < results.size(); i++) {
+				results.set(i, results.get(i).accepted() ? insert(results.get(i).getInstance()) : results.get(i));
+			}
+		}
+
+		invalidateTotal(Account.class);
+		return results;
+	}
+
+	private Result<Account> prepare(Account account, PasswordPolicy policy, boolean prehashed) {
+		if (prehashed) {
+			if (account.getPassword() == null || !bcrypt.matcher(account.getPassword()).matches()) {
+				return Result.reject("account.password.hash.invalid");
+			}
+			return validate(account);
+		}
+
+		Result<String> password = passwordValidator.validate(account.getPassword(), policy);
+		if (password.rejected()) {
+			return Result.reject(password.getErrors().toArray(new Reportable[password.getErrors().size()]));
+		}
+
+		Result<Account> result = validate(account);
+		return result.accepted() ? Result.accept(account.password(passwordEncodingService.encode(account.getPassword()))) : result;
+	}
+
+	private Result<Account> validate(Account account) {
+		Result<Account> result = validationService.validate(account, CreateLevel1.class);
+		return result.accepted() ? validationService.validate(account, CreateLevel2.class) : result;
+	}
+
+	private Result<Account> await(Future<Result<Account>> future) {
+		try {
+			return future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return Result.reject("system.create.failed", e.getMessage());
+		}
+		catch (ExecutionException e) {
+			return Result.reject("system.create.failed", e.getCause().getMessage());
+		}
+	}
+
+	private Result<Account> insert(Account account) {
+		try {
+			List<Account> accounts = new ArrayList<>();
+			accounts.add(account);
+			insert(accounts);
+			return Result.accept(account);
+		}
+		catch (DataIntegrityViolationException e) {
+			return Result.reject("account.username.conflict");
+		}
+	}
+
+	private void insert(List<Account> accounts) {
+		transaction.execute(status -> {
+			jdbcTemplate.batchUpdate(insert_account, accounts, accounts.size(), (statement, account) -> {
+				statement.setString(1, account.getId());
+				statement.setTimestamp(2, new Timestamp(account.getCreated().getTime()));
+				statement.setTimestamp(3, new Timestamp(account.getUpdated().getTime()));
+				statement.setString(4, account.getUsername());
+				statement.setString(5, account.getPassword());
+				statement.setBoolean(6, account.isLocked());
+			});
+
+			List<Object[]> roles = accounts.stream().flatMap(account -> account.getRoles().stream().map(role -> new Object[] { account.getId(), role.getId() })).collect(toList());
+			if (!roles.isEmpty()) {
+				jdbcTemplate.batchUpdate(insert_account_role, roles);
+			}
+			return null;
+		});
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+}
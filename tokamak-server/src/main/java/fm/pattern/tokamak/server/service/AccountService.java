@@ -17,6 +17,7 @@
 package fm.pattern.tokamak.server.service;
 
 import java.util.List;
+import java.util.Map;
 
 import fm.pattern.tokamak.server.model.Account;
 import fm.pattern.tokamak.server.repository.Criteria;
@@ -41,6 +42,8 @@ public interface AccountService {
 
 	Result<Account> findByUsername(String username);
 
+	Result<Map<String, Account>> findAllByUsername(List<String> usernames);
+
 	Result<List<Account>> list(Criteria criteria);
 
 }
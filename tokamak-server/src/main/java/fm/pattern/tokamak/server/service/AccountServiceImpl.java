@@ -18,7 +18,12 @@ package fm.pattern.tokamak.server.service;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.persistence.Query;
 
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
@@ -27,8 +32,13 @@ import org.springframework.transaction.annotation.Transactional;
 import fm.pattern.tokamak.server.model.Account;
 import fm.pattern.tokamak.server.model.PasswordPolicy;
 import fm.pattern.tokamak.server.repository.Cache;
+import fm.pattern.tokamak.server.repository.CacheEntry;
+import fm.pattern.tokamak.server.repository.CacheSynchronizer;
 import fm.pattern.tokamak.server.repository.Criteria;
+import fm.pattern.tokamak.server.repository.Cursor;
 import fm.pattern.tokamak.server.repository.PaginatedList;
+import fm.pattern.tokamak.server.repository.QueryMetrics;
+import fm.pattern.tokamak.server.repository.RepresentationCache;
 import fm.pattern.tokamak.server.validation.PasswordValidator;
 import fm.pattern.valex.Reportable;
 import fm.pattern.valex.Result;
@@ -44,12 +54,16 @@ class AccountServiceImpl extends DataServiceImpl<Account> implements AccountServ
 	private final PasswordPolicyService passwordPolicyService;
 	private final PasswordValidator passwordValidator;
 	private final Cache cache;
+	private final CacheSynchronizer cacheSynchronizer;
+	private final RepresentationCache representationCache;
 
-	public AccountServiceImpl(PasswordEncodingService passwordEncodingService, PasswordPolicyService passwordPolicyService, PasswordValidator passwordValidator, @Qualifier("accountCache") Cache cache) {
+	public AccountServiceImpl(PasswordEncodingService passwordEncodingService, PasswordPolicyService passwordPolicyService, PasswordValidator passwordValidator, @Qualifier("accountCache") Cache cache, CacheSynchronizer cacheSynchronizer, RepresentationCache representationCache) {
 		this.passwordEncodingService = passwordEncodingService;
 		this.passwordPolicyService = passwordPolicyService;
 		this.passwordValidator = passwordValidator;
 		this.cache = cache;
+		this.cacheSynchronizer = cacheSynchronizer;
+		this.representationCache = representationCache;
 	}
 
 	@Transactional
@@ -64,6 +78,7 @@ class AccountServiceImpl extends DataServiceImpl<Account> implements AccountServ
 		Result<Account> result = super.create(account.password(passwordEncodingService.encode(account.getPassword())));
 		if (result.accepted()) {
 			cache(result.getInstance());
+			invalidateTotal(Account.class);
 		}
 
 		return result;
@@ -74,6 +89,7 @@ class AccountServiceImpl extends DataServiceImpl<Account> implements AccountServ
 		Result<Account> result = super.update(account);
 		if (result.accepted()) {
 			cache(result.getInstance());
+			cacheSynchronizer.afterCommit(() -> representationCache.evict(Account.class, account.getId()));
 		}
 		return result;
 	}
@@ -105,20 +121,20 @@ class AccountServiceImpl extends DataServiceImpl<Account> implements AccountServ
 	public Result<Account> delete(Account account) {
 		Result<Account> result = super.delete(account);
 		if (result.accepted()) {
-			cache.delete(String.format(id_key, account.getId()));
-			cache.delete(String.format(username_key, account.getUsername()));
+			cacheSynchronizer.delete(cache, String.format(id_key, account.getId()), String.format(username_key, account.getUsername()));
+			cacheSynchronizer.afterCommit(() -> representationCache.evict(Account.class, account.getId()));
+			invalidateTotal(Account.class);
 		}
 		return result;
 	}
 
-	@Transactional(readOnly = true)
 	public Result<Account> findById(String id) {
-		Account account = cache.get(String.format(id_key, id), Account.class);
+		Account account = cache.get(String.format(id_key, id), Account.class, () -> refresh(readOnly(() -> super.findById(id, Account.class))));
 		if (account != null) {
 			return Result.accept(account);
 		}
 
-		Result<Account> result = super.findById(id, Account.class);
+		Result<Account> result = readOnly(() -> super.findById(id, Account.class));
 		if (result.accepted()) {
 			cache(result.getInstance());
 		}
@@ -126,13 +142,17 @@ class AccountServiceImpl extends DataServiceImpl<Account> implements AccountServ
 		return result;
 	}
 
-	@Transactional(readOnly = true)
 	public Result<Account> findByUsername(String username) {
 		if (isBlank(username)) {
 			return Result.reject("account.username.required");
 		}
 
-		Result<Account> result = super.findBy("username", username, Account.class);
+		Account account = cache.resolve(String.format(username_key, username), Account.class, () -> refresh(readOnly(() -> super.findBy("username", username, Account.class))));
+		if (account != null && username.equals(account.getUsername())) {
+			return Result.accept(account);
+		}
+
+		Result<Account> result = readOnly(() -> super.findBy("username", username, Account.class));
 		if (result.accepted()) {
 			cache(result.getInstance());
 		}
@@ -140,16 +160,52 @@ class AccountServiceImpl extends DataServiceImpl<Account> implements AccountServ
 		return result.accepted() ? result : Result.reject("account.username.not_found", username);
 	}
 
+	public Result<Map<String, Account>> findAllByUsername(List<String> usernames) {
+		return super.findAll("username", usernames, Account.class, keys -> {
+			Map<String, Account> cached = cache.resolveAll(keys.stream().map(username -> String.format(username_key, username)).collect(Collectors.toList()), Account.class);
+
+			Map<String, Account> found = new HashMap<>();
+			for (String username : keys) {
+				Account account = cached.get(String.format(username_key, username));
+				if (account != null && username.equalsIgnoreCase(account.getUsername())) {
+					found.put(username, account);
+				}
+			}
+			return found;
+		}, account -> account.getUsername(), account -> cache(account));
+	}
+
 	@Transactional(readOnly = true)
 	public Result<List<Account>> list(Criteria criteria) {
-		Long count = super.count(super.query("select count(account.id) from Accounts account"));
-		List<Account> data = super.query("from Accounts order by username").setFirstResult(criteria.getFirstResult()).setMaxResults(criteria.getLimit()).getResultList();
-		return Result.accept((List<Account>) new PaginatedList<Account>(data, count.intValue(), criteria));
+		Cursor cursor = Cursor.decode(criteria.getCursor());
+		if (criteria.hasCursor() && cursor == null) {
+			return Result.reject("criteria.cursor.invalid", criteria.getCursor());
+		}
+		if (!criteria.hasValidTotal()) {
+			return Result.reject("criteria.total.invalid", criteria.getRequestedTotal());
+		}
+
+		Query query = cursor == null ? super.query("from Accounts account order by account.username, account.id").setFirstResult(criteria.getFirstResult()) : super.query("from Accounts account where account.username > :username or (account.username = :username and account.id > :id) order by account.username, account.id").setParameter("username", cursor.getKey()).setParameter("id", cursor.getId());
+
+		Integer total = total(criteria, Account.class);
+		List<Account> data = QueryMetrics.named("Accounts.list", () -> query.setMaxResults(criteria.getLimit() + 1).getResultList());
+		if (data.size() <= criteria.getLimit()) {
+			return Result.accept((List<Account>) new PaginatedList<Account>(data, total, criteria));
+		}
+
+		Account last = data.get(criteria.getLimit() - 1);
+		String next = Cursor.cursor(last.getUsername(), last.getId()).encode();
+		return Result.accept((List<Account>) new PaginatedList<Account>(data.subList(0, criteria.getLimit()), total, criteria, next));
+	}
+
+	private void refresh(Result<Account> result) {
+		if (result.accepted()) {
+			cache(result.getInstance());
+		}
 	}
 
 	private void cache(Account account) {
-		cache.put(String.format(id_key, account.getId()), account);
-		cache.put(String.format(username_key, account.getUsername()), account);
+		cacheSynchronizer.put(cache, new CacheEntry(String.format(id_key, account.getId()), account, account.getUpdated().getTime(), String.format(username_key, account.getUsername())));
 	}
 
 }
@@ -19,6 +19,7 @@ package fm.pattern.tokamak.server.service;
 import java.util.List;
 
 import fm.pattern.tokamak.server.model.Audience;
+import fm.pattern.tokamak.server.repository.CollectionVersion;
 import fm.pattern.valex.Result;
 import fm.pattern.valex.annotations.Create;
 import fm.pattern.valex.annotations.Delete;
@@ -32,6 +33,8 @@ public interface AudienceService {
 
 	Result<Audience> delete(@Delete Audience audience);
 
+	Result<List<Audience>> upsert(List<Audience> audiences);
+
 	Result<Audience> findById(String id);
 
 	Result<Audience> findByName(String name);
@@ -40,4 +43,6 @@ public interface AudienceService {
 
 	Result<List<Audience>> list();
 
+	Result<CollectionVersion> version();
+
 }
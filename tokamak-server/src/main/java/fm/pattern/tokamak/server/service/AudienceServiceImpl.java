@@ -30,6 +30,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import fm.pattern.tokamak.server.model.Audience;
 import fm.pattern.tokamak.server.repository.Cache;
+import fm.pattern.tokamak.server.repository.CacheSynchronizer;
+import fm.pattern.tokamak.server.repository.ClientRegistry;
+import fm.pattern.tokamak.server.repository.CollectionVersion;
 import fm.pattern.tokamak.server.repository.DataRepository;
 import fm.pattern.valex.Result;
 
@@ -39,18 +42,33 @@ class AudienceServiceImpl extends DataServiceImpl<Audience> implements AudienceS
 
 	private final DataRepository repository;
 	private final Cache cache;
+	private final CacheSynchronizer cacheSynchronizer;
+	private final ClientRegistry clientRegistry;
 
 	@Autowired
-	AudienceServiceImpl(@Qualifier("dataRepository") DataRepository repository, @Qualifier("clientCache") Cache cache) {
+	AudienceServiceImpl(@Qualifier("dataRepository") DataRepository repository, @Qualifier("clientCache") Cache cache, ClientRegistry clientRegistry, CacheSynchronizer cacheSynchronizer) {
 		this.repository = repository;
 		this.cache = cache;
+		this.cacheSynchronizer = cacheSynchronizer;
+		this.clientRegistry = clientRegistry;
 	}
 
 	@Transactional
 	public Result<Audience> update(Audience audience) {
 		Result<Audience> result = super.update(audience);
 		if (result.accepted()) {
-			cache.flush();
+			cacheSynchronizer.flush(cache);
+			cacheSynchronizer.afterCommit(clientRegistry::clear);
+		}
+		return result;
+	}
+
+	@Transactional
+	public Result<List<Audience>> upsert(List<Audience> audiences) {
+		Result<List<Audience>> result = super.upsert(audiences, Audience.class, Audience::getName, Audience::getDescription);
+		if (result.accepted()) {
+			cacheSynchronizer.flush(cache);
+			cacheSynchronizer.afterCommit(clientRegistry::clear);
 		}
 		return result;
 	}
@@ -80,7 +98,7 @@ class AudienceServiceImpl extends DataServiceImpl<Audience> implements AudienceS
 			return Result.accept(new ArrayList<>());
 		}
 
-		return Result.accept(query("from Audiences where id in (:ids)").setParameter("ids", parameters).getResultList());
+		return Result.accept(findExistingById(parameters, Audience.class));
 	}
 
 	@Transactional(readOnly = true)
@@ -89,7 +107,7 @@ class AudienceServiceImpl extends DataServiceImpl<Audience> implements AudienceS
 			return Result.reject("audience.name.required");
 		}
 
-		Result<Audience> result = super.findBy("name", name, Audience.class);
+		Result<Audience> result = super.findByName(name, Audience.class);
 		return result.accepted() ? result : Result.reject("audience.name.not_found", name);
 	}
 
@@ -98,4 +116,9 @@ class AudienceServiceImpl extends DataServiceImpl<Audience> implements AudienceS
 		return Result.accept(repository.query("from Audiences order by name").getResultList());
 	}
 
+	@Transactional(readOnly = true)
+	public Result<CollectionVersion> version() {
+		return super.version(Audience.class);
+	}
+
 }
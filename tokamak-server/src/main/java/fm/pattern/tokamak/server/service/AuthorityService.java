@@ -19,6 +19,7 @@ package fm.pattern.tokamak.server.service;
 import java.util.List;
 
 import fm.pattern.tokamak.server.model.Authority;
+import fm.pattern.tokamak.server.repository.CollectionVersion;
 import fm.pattern.valex.Result;
 import fm.pattern.valex.annotations.Create;
 import fm.pattern.valex.annotations.Delete;
@@ -32,6 +33,8 @@ public interface AuthorityService {
 
 	Result<Authority> delete(@Delete Authority authority);
 
+	Result<List<Authority>> upsert(List<Authority> authorities);
+
 	Result<Authority> findById(String id);
 
 	Result<List<Authority>> findExistingById(List<String> ids);
@@ -40,4 +43,6 @@ public interface AuthorityService {
 
 	Result<List<Authority>> list();
 
+	Result<CollectionVersion> version();
+
 }
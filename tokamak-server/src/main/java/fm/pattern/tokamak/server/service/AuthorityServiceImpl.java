@@ -30,6 +30,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import fm.pattern.tokamak.server.model.Authority;
 import fm.pattern.tokamak.server.repository.Cache;
+import fm.pattern.tokamak.server.repository.CacheSynchronizer;
+import fm.pattern.tokamak.server.repository.ClientRegistry;
+import fm.pattern.tokamak.server.repository.CollectionVersion;
 import fm.pattern.tokamak.server.repository.DataRepository;
 import fm.pattern.valex.Result;
 
@@ -39,18 +42,33 @@ class AuthorityServiceImpl extends DataServiceImpl<Authority> implements Authori
 
 	private final DataRepository repository;
 	private final Cache cache;
+	private final CacheSynchronizer cacheSynchronizer;
+	private final ClientRegistry clientRegistry;
 
 	@Autowired
-	AuthorityServiceImpl(@Qualifier("dataRepository") DataRepository repository, @Qualifier("clientCache") Cache cache) {
+	AuthorityServiceImpl(@Qualifier("dataRepository") DataRepository repository, @Qualifier("clientCache") Cache cache, ClientRegistry clientRegistry, CacheSynchronizer cacheSynchronizer) {
 		this.repository = repository;
 		this.cache = cache;
+		this.cacheSynchronizer = cacheSynchronizer;
+		this.clientRegistry = clientRegistry;
 	}
 
 	@Transactional
 	public Result<Authority> update(Authority authority) {
 		Result<Authority> result = super.update(authority);
 		if (result.accepted()) {
-			cache.flush();
+			cacheSynchronizer.flush(cache);
+			cacheSynchronizer.afterCommit(clientRegistry::clear);
+		}
+		return result;
+	}
+
+	@Transactional
+	public Result<List<Authority>> upsert(List<Authority> authorities) {
+		Result<List<Authority>> result = super.upsert(authorities, Authority.class, Authority::getName, Authority::getDescription);
+		if (result.accepted()) {
+			cacheSynchronizer.flush(cache);
+			cacheSynchronizer.afterCommit(clientRegistry::clear);
 		}
 		return result;
 	}
@@ -80,7 +98,7 @@ class AuthorityServiceImpl extends DataServiceImpl<Authority> implements Authori
 			return Result.accept(new ArrayList<>());
 		}
 
-		return Result.accept(query("from Authorities where id in (:ids)").setParameter("ids", parameters).getResultList());
+		return Result.accept(findExistingById(parameters, Authority.class));
 	}
 
 	@Transactional(readOnly = true)
@@ -89,7 +107,7 @@ class AuthorityServiceImpl extends DataServiceImpl<Authority> implements Authori
 			return Result.reject("authority.name.required");
 		}
 
-		Result<Authority> result = super.findBy("name", name, Authority.class);
+		Result<Authority> result = super.findByName(name, Authority.class);
 		return result.accepted() ? result : Result.reject("authority.name.not_found", name);
 	}
 
@@ -98,4 +116,9 @@ class AuthorityServiceImpl extends DataServiceImpl<Authority> implements Authori
 		return Result.accept(repository.query("from Authorities order by name").getResultList());
 	}
 
+	@Transactional(readOnly = true)
+	public Result<CollectionVersion> version() {
+		return super.version(Authority.class);
+	}
+
 }
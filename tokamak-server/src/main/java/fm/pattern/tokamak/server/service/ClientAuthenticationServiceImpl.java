@@ -23,6 +23,7 @@ import org.springframework.security.oauth2.provider.ClientRegistrationException;
 import org.springframework.stereotype.Service;
 
 import fm.pattern.tokamak.server.model.Client;
+import fm.pattern.tokamak.server.repository.ClientRegistry;
 import fm.pattern.tokamak.server.security.AuthenticatedClient;
 import fm.pattern.tokamak.server.security.CurrentAuthenticatedClientContext;
 import fm.pattern.valex.Result;
@@ -31,10 +32,12 @@ import fm.pattern.valex.Result;
 class ClientAuthenticationServiceImpl implements ClientAuthenticationService {
 
 	private final ClientService clientService;
+	private final ClientRegistry clientRegistry;
 
 	@Autowired
-	public ClientAuthenticationServiceImpl(ClientService clientService) {
+	public ClientAuthenticationServiceImpl(ClientService clientService, ClientRegistry clientRegistry) {
 		this.clientService = clientService;
+		this.clientRegistry = clientRegistry;
 	}
 
 	public ClientDetails loadClientByClientId(String id) throws ClientRegistrationException {
@@ -46,13 +49,20 @@ class ClientAuthenticationServiceImpl implements ClientAuthenticationService {
 			CurrentAuthenticatedClientContext.clear();
 		}
 
+		AuthenticatedClient registered = clientRegistry.find(id);
+		if (registered != null) {
+			return CurrentAuthenticatedClientContext.setAuthenticatedClient(registered);
+		}
+
 		Result<Client> result = clientService.findByClientId(id);
 		if (result.rejected()) {
 			CurrentAuthenticatedClientContext.clear();
 			throw new UsernameNotFoundException("Could not find client with client id " + id);
 		}
 
-		return CurrentAuthenticatedClientContext.setAuthenticatedClient(new AuthenticatedClient(result.getInstance()));
+		AuthenticatedClient client = new AuthenticatedClient(result.getInstance());
+		clientRegistry.put(client);
+		return CurrentAuthenticatedClientContext.setAuthenticatedClient(client);
 	}
 
 }
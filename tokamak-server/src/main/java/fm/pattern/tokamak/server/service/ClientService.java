@@ -17,6 +17,7 @@
 package fm.pattern.tokamak.server.service;
 
 import java.util.List;
+import java.util.Map;
 
 import fm.pattern.tokamak.server.model.Client;
 import fm.pattern.tokamak.server.repository.Criteria;
@@ -41,6 +42,8 @@ public interface ClientService {
 
 	Result<Client> findByClientId(String clientId);
 
+	Result<Map<String, Client>> findAllById(List<String> ids);
+
 	Result<List<Client>> list(Criteria criteria);
 
 }
@@ -18,7 +18,14 @@ package fm.pattern.tokamak.server.service;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.persistence.Query;
+import javax.persistence.TemporalType;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -28,8 +35,14 @@ import org.springframework.transaction.annotation.Transactional;
 import fm.pattern.tokamak.server.model.Client;
 import fm.pattern.tokamak.server.model.PasswordPolicy;
 import fm.pattern.tokamak.server.repository.Cache;
+import fm.pattern.tokamak.server.repository.CacheEntry;
+import fm.pattern.tokamak.server.repository.CacheSynchronizer;
+import fm.pattern.tokamak.server.repository.ClientRegistry;
 import fm.pattern.tokamak.server.repository.Criteria;
+import fm.pattern.tokamak.server.repository.Cursor;
 import fm.pattern.tokamak.server.repository.PaginatedList;
+import fm.pattern.tokamak.server.repository.QueryMetrics;
+import fm.pattern.tokamak.server.repository.RepresentationCache;
 import fm.pattern.tokamak.server.validation.PasswordValidator;
 import fm.pattern.valex.Reportable;
 import fm.pattern.valex.Result;
@@ -45,13 +58,19 @@ class ClientServiceImpl extends DataServiceImpl<Client> implements ClientService
 	private final PasswordPolicyService passwordPolicyService;
 	private final PasswordValidator passwordValidator;
 	private final Cache cache;
+	private final ClientRegistry clientRegistry;
+	private final CacheSynchronizer cacheSynchronizer;
+	private final RepresentationCache representationCache;
 
 	@Autowired
-	public ClientServiceImpl(PasswordEncodingService passwordEncodingService, PasswordPolicyService passwordPolicyService, PasswordValidator passwordValidator, @Qualifier("clientCache") Cache cache) {
+	public ClientServiceImpl(PasswordEncodingService passwordEncodingService, PasswordPolicyService passwordPolicyService, PasswordValidator passwordValidator, @Qualifier("clientCache") Cache cache, ClientRegistry clientRegistry, CacheSynchronizer cacheSynchronizer, RepresentationCache representationCache) {
 		this.passwordEncodingService = passwordEncodingService;
 		this.passwordPolicyService = passwordPolicyService;
 		this.passwordValidator = passwordValidator;
 		this.cache = cache;
+		this.clientRegistry = clientRegistry;
+		this.cacheSynchronizer = cacheSynchronizer;
+		this.representationCache = representationCache;
 	}
 
 	@Transactional
@@ -66,6 +85,7 @@ class ClientServiceImpl extends DataServiceImpl<Client> implements ClientService
 		Result<Client> result = super.create(client.clientSecret(passwordEncodingService.encode(client.getClientSecret())));
 		if (result.accepted()) {
 			cache(result.getInstance());
+			invalidateTotal(Client.class);
 		}
 
 		return result;
@@ -76,6 +96,8 @@ class ClientServiceImpl extends DataServiceImpl<Client> implements ClientService
 		Result<Client> result = super.update(client);
 		if (result.accepted()) {
 			cache(result.getInstance());
+			cacheSynchronizer.afterCommit(() -> clientRegistry.remove(client.getClientId()));
+			cacheSynchronizer.afterCommit(() -> representationCache.evict(Client.class, client.getId()));
 		}
 		return result;
 	}
@@ -107,20 +129,21 @@ class ClientServiceImpl extends DataServiceImpl<Client> implements ClientService
 	public Result<Client> delete(Client client) {
 		Result<Client> result = super.delete(client);
 		if (result.accepted()) {
-			cache.delete(String.format(id_key, client.getId()));
-			cache.delete(String.format(client_id_key, client.getClientId()));
+			cacheSynchronizer.delete(cache, String.format(id_key, client.getId()), String.format(client_id_key, client.getClientId()));
+			cacheSynchronizer.afterCommit(() -> clientRegistry.remove(client.getClientId()));
+			cacheSynchronizer.afterCommit(() -> representationCache.evict(Client.class, client.getId()));
+			invalidateTotal(Client.class);
 		}
 		return result;
 	}
 
-	@Transactional(readOnly = true)
 	public Result<Client> findById(String id) {
-		Client client = cache.get(String.format(id_key, id), Client.class);
+		Client client = cache.get(String.format(id_key, id), Client.class, () -> refresh(readOnly(() -> super.findById(id, Client.class))));
 		if (client != null) {
 			return Result.accept(client);
 		}
 
-		Result<Client> result = super.findById(id, Client.class);
+		Result<Client> result = readOnly(() -> super.findById(id, Client.class));
 		if (result.accepted()) {
 			cache(result.getInstance());
 		}
@@ -128,18 +151,17 @@ class ClientServiceImpl extends DataServiceImpl<Client> implements ClientService
 		return result;
 	}
 
-	@Transactional(readOnly = true)
 	public Result<Client> findByClientId(String clientId) {
 		if (isBlank(clientId)) {
 			return Result.reject("client.clientId.required");
 		}
 
-		Client client = cache.get(String.format(client_id_key, clientId), Client.class);
+		Client client = cache.resolve(String.format(client_id_key, clientId), Client.class, () -> refresh(readOnly(() -> super.findBy("clientId", clientId, Client.class))));
 		if (client != null) {
 			return Result.accept(client);
 		}
 
-		Result<Client> result = super.findBy("clientId", clientId, Client.class);
+		Result<Client> result = readOnly(() -> super.findBy("clientId", clientId, Client.class));
 		if (result.accepted()) {
 			cache(result.getInstance());
 		}
@@ -147,16 +169,52 @@ class ClientServiceImpl extends DataServiceImpl<Client> implements ClientService
 		return result.accepted() ? result : Result.reject("client.clientId.not_found", clientId);
 	}
 
+	public Result<Map<String, Client>> findAllById(List<String> ids) {
+		return super.findAll("id", ids, Client.class, keys -> {
+			Map<String, Client> cached = cache.getAll(keys.stream().map(id -> String.format(id_key, id)).collect(Collectors.toList()), Client.class);
+
+			Map<String, Client> found = new HashMap<>();
+			for (String id : keys) {
+				Client client = cached.get(String.format(id_key, id));
+				if (client != null) {
+					found.put(id, client);
+				}
+			}
+			return found;
+		}, client -> client.getId(), client -> cache(client));
+	}
+
 	@Transactional(readOnly = true)
 	public Result<List<Client>> list(Criteria criteria) {
-		Long count = super.count(super.query("select count(client.id) from Clients client"));
-		List<Client> clients = super.query("from Clients order by created desc").setFirstResult(criteria.getFirstResult()).setMaxResults(criteria.getLimit()).getResultList();
-		return Result.accept((List<Client>) new PaginatedList<Client>(clients, count.intValue(), criteria));
+		Cursor cursor = Cursor.decode(criteria.getCursor());
+		if (criteria.hasCursor() && (cursor == null || cursor.getKeyAsLong() == null)) {
+			return Result.reject("criteria.cursor.invalid", criteria.getCursor());
+		}
+		if (!criteria.hasValidTotal()) {
+			return Result.reject("criteria.total.invalid", criteria.getRequestedTotal());
+		}
+
+		Query query = cursor == null ? super.query("from Clients client order by client.created desc, client.id desc").setFirstResult(criteria.getFirstResult()) : super.query("from Clients client where client.created < :created or (client.created = :created and client.id < :id) order by client.created desc, client.id desc").setParameter("created", new Date(cursor.getKeyAsLong()), TemporalType.TIMESTAMP).setParameter("id", cursor.getId());
+
+		Integer total = total(criteria, Client.class);
+		List<Client> clients = QueryMetrics.named("Clients.list", () -> query.setMaxResults(criteria.getLimit() + 1).getResultList());
+		if (clients.size() <= criteria.getLimit()) {
+			return Result.accept((List<Client>) new PaginatedList<Client>(clients, total, criteria));
+		}
+
+		Client last = clients.get(criteria.getLimit() - 1);
+		String next = Cursor.cursor(String.valueOf(last.getCreated().getTime()), last.getId()).encode();
+		return Result.accept((List<Client>) new PaginatedList<Client>(clients.subList(0, criteria.getLimit()), total, criteria, next));
+	}
+
+	private void refresh(Result<Client> result) {
+		if (result.accepted()) {
+			cache(result.getInstance());
+		}
 	}
 
 	private void cache(Client client) {
-		cache.put(String.format(id_key, client.getId()), client);
-		cache.put(String.format(client_id_key, client.getClientId()), client);
+		cacheSynchronizer.put(cache, new CacheEntry(String.format(id_key, client.getId()), client, client.getUpdated().getTime(), String.format(client_id_key, client.getClientId())));
 	}
 
 }
@@ -17,19 +17,48 @@
 package fm.pattern.tokamak.server.service;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.apache.commons.lang3.text.WordUtils.uncapitalize;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import javax.annotation.Resource;
 import javax.persistence.Entity;
 import javax.persistence.Query;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import fm.pattern.tokamak.server.model.PersistentEntity;
+import fm.pattern.tokamak.server.repository.CollectionVersion;
+import fm.pattern.tokamak.server.repository.Criteria;
 import fm.pattern.tokamak.server.repository.DataRepository;
+import fm.pattern.tokamak.server.repository.QueryMetrics;
+import fm.pattern.tokamak.server.repository.ReferenceDataRegistry;
+import fm.pattern.tokamak.server.repository.TotalCountCache;
+import fm.pattern.valex.Reportable;
 import fm.pattern.valex.Result;
+import fm.pattern.valex.ValidationService;
+import fm.pattern.valex.sequences.CreateLevel1;
+import fm.pattern.valex.sequences.CreateLevel2;
 
 @Service
 @SuppressWarnings({ "unchecked", "hiding" })
@@ -38,10 +67,52 @@ class DataServiceImpl<T> implements DataService<T> {
 	@Resource(name = "dataRepository")
 	private DataRepository repository;
 
+	private TransactionTemplate readOnlyTransaction;
+	private TotalCountCache totalCountCache;
+	private ValidationService validationService;
+	private JdbcTemplate jdbcTemplate;
+	private ReferenceDataRegistry referenceData;
+	private int maximumLookupKeys = 100;
+
 	DataServiceImpl() {
 
 	}
 
+	@Autowired
+	void setTransactionManager(PlatformTransactionManager transactionManager) {
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+	}
+
+	@Autowired
+	void setTotalCountCache(TotalCountCache totalCountCache) {
+		this.totalCountCache = totalCountCache;
+	}
+
+	@Autowired
+	void setValidationService(ValidationService validationService) {
+		this.validationService = validationService;
+	}
+
+	@Autowired
+	void setJdbcTemplate(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Autowired
+	void setReferenceDataRegistry(ReferenceDataRegistry referenceData) {
+		this.referenceData = referenceData;
+	}
+
+	@Value("${lookups.maximumKeys:100}")
+	void setMaximumLookupKeys(Integer maximumLookupKeys) {
+		this.maximumLookupKeys = maximumLookupKeys;
+	}
+
+	<R> R readOnly(Supplier<R> loader) {
+		return readOnlyTransaction.execute(status -> loader.get());
+	}
+
 	@Transactional
 	public Result<T> create(T entity) {
 		return repository.save(entity);
@@ -99,6 +170,149 @@ class DataServiceImpl<T> implements DataService<T> {
 		return repository.count(query);
 	}
 
+	Integer total(Criteria criteria, Class<T> type) {
+		String entity = entity(type);
+		switch (criteria.getTotalCount()) {
+		case NONE:
+			return null;
+		case CACHED:
+			return totalCountCache.get(entity, () -> count(entity)).intValue();
+		case APPROXIMATE:
+			Long estimate = estimate(entity);
+			return (estimate != null ? estimate : count(entity)).intValue();
+		default:
+			return count(entity).intValue();
+		}
+	}
+
+	Result<T> findByName(String name, Class<T> type) {
+		T entity = referenceData.findByName(type, name);
+		return entity != null ? Result.accept(entity) : findBy("name", name, type);
+	}
+
+	List<T> findExistingById(List<String> ids, Class<T> type) {
+		return referenceData.findExistingById(type, ids, missing -> query("from " + entity(type) + " where id in (:ids)").setParameter("ids", missing).getResultList());
+	}
+
+	Result<CollectionVersion> version(Class<T> type) {
+		Object[] row = (Object[]) repository.query("select count(entity.id), max(entity.updated) from " + entity(type) + " entity").getSingleResult();
+		return Result.accept(new CollectionVersion(((Number) row[0]).longValue(), (Date) row[1]));
+	}
+
+	Result<Map<String, T>> findAll(String attribute, List<String> keys, Class<T> type, Function<List<String>, Map<String, T>> cached, Function<T, String> key, Consumer<T> cache) {
+		List<String> distinct = keys == null ? new ArrayList<>() : keys.stream().filter(value -> isNotBlank(value)).distinct().collect(Collectors.toList());
+		if (distinct.isEmpty()) {
+			return Result.reject("lookup.keys.required");
+		}
+		if (distinct.size() > maximumLookupKeys) {
+			return Result.reject("lookup.keys.limit", maximumLookupKeys);
+		}
+
+		Map<String, T> found = new HashMap<>(cached.apply(distinct));
+		List<String> missing = distinct.stream().filter(value -> !found.containsKey(value)).collect(Collectors.toList());
+		if (!missing.isEmpty()) {
+			Map<String, List<String>> requested = missing.stream().collect(Collectors.groupingBy(value -> value.toLowerCase()));
+
+			String entity = entity(type);
+			List<T> loaded = readOnly(() -> QueryMetrics.named(entity + ".findAll", () -> repository.query("from " + entity + " entity where entity." + attribute + " in (:keys)").setParameter("keys", missing).getResultList()));
+			for (T instance : loaded) {
+				requested.getOrDefault(key.apply(instance).toLowerCase(), new ArrayList<>()).forEach(value -> found.put(value, instance));
+				cache.accept(instance);
+			}
+		}
+		return Result.accept(found);
+	}
+
+	void invalidateTotal(Class<T> type) {
+		totalCountCache.invalidate(entity(type));
+	}
+
+	Result<List<T>> upsert(List<T> entities, Class<T> type, Function<T, String> name, Function<T, String> description) {
+		String table = entity(type);
+		String conflict = uncapitalize(type.getSimpleName()) + ".name.conflict";
+
+		List<Reportable> errors = new ArrayList<>();
+		Set<String> names = new HashSet<>();
+		for (T entity : entities) {
+			Result<T> result = validationService.validate(entity, CreateLevel1.class);
+			if (result.accepted()) {
+				result = validationService.validate(entity, CreateLevel2.class);
+			}
+
+			if (result.rejected()) {
+				errors.addAll(result.getErrors());
+			}
+			else if (!names.add(name.apply(entity).toLowerCase())) {
+				errors.addAll(Result.reject(conflict).getErrors());
+			}
+		}
+		if (!errors.isEmpty()) {
+			return Result.reject(errors.toArray(new Reportable[errors.size()]));
+		}
+		if (entities.isEmpty()) {
+			return Result.accept(entities);
+		}
+
+		Map<String, Object[]> existing = new HashMap<>();
+		List<Object[]> rows = repository.sqlQuery("select id, name, created from " + table + " where name in (:names)").setParameter("names", new ArrayList<>(names)).getResultList();
+		rows.forEach(row -> existing.put(((String) row[1]).toLowerCase(), row));
+
+		Date now = new Date();
+		List<T> inserts = new ArrayList<>();
+		List<T> updates = new ArrayList<>();
+		for (T entity : entities) {
+			Object[] row = existing.get(name.apply(entity).toLowerCase());
+			if (row == null) {
+				inserts.add(entity);
+				continue;
+			}
+
+			PersistentEntity persistent = (PersistentEntity) entity;
+			persistent.setId((String) row[0]);
+			persistent.setCreated((Date) row[2]);
+			persistent.setUpdated(now);
+			updates.add(entity);
+		}
+
+		try {
+			if (!inserts.isEmpty()) {
+				jdbcTemplate.batchUpdate("insert into " + table + " (id, created, updated, name, description) values (?, ?, ?, ?, ?)", inserts, inserts.size(), (statement, entity) -> {
+					PersistentEntity persistent = (PersistentEntity) entity;
+					statement.setString(1, persistent.getId());
+					statement.setTimestamp(2, new Timestamp(persistent.getCreated().getTime()));
+					statement.setTimestamp(3, new Timestamp(persistent.getUpdated().getTime()));
+					statement.setString(4, name.apply(entity));
+					statement.setString(5, description.apply(entity));
+				});
+			}
+			if (!updates.isEmpty()) {
+				jdbcTemplate.batchUpdate("update " + table + " set name = ?, description = ?, updated = ? where id = ?", updates, updates.size(), (statement, entity) -> {
+					PersistentEntity persistent = (PersistentEntity) entity;
+					statement.setString(1, name.apply(entity));
+					statement.setString(2, description.apply(entity));
+					statement.setTimestamp(3, new Timestamp(persistent.getUpdated().getTime()));
+					statement.setString(4, persistent.getId());
+				});
+			}
+		}
+		catch (DataIntegrityViolationException e) {
+			TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+			return Result.reject(conflict);
+		}
+
+		referenceData.invalidate(type);
+		return Result.accept(entities);
+	}
+
+	private Long count(String entity) {
+		return QueryMetrics.named(entity + ".count", () -> repository.count(repository.query("select count(entity.id) from " + entity + " entity")));
+	}
+
+	private Long estimate(String table) {
+		List<?> rows = repository.sqlQuery("select table_rows from information_schema.tables where table_schema = database() and table_name = :table").setParameter("table", table).getResultList();
+		return rows.isEmpty() || rows.get(0) == null ? null : ((Number) rows.get(0)).longValue();
+	}
+
 	private <T> String entity(Class<T> entity) {
 		if (entity.isAnnotationPresent(Entity.class)) {
 			return entity.getAnnotation(Entity.class).name();
@@ -0,0 +1,12 @@
+package fm.pattern.tokamak.server.service;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+public interface ExportService {
+
+	void exportAccounts(Consumer<Map<String, Object>> rows);
+
+	void exportClients(Consumer<Map<String, Object>> rows);
+
+}
@@ -0,0 +1,64 @@
+package fm.pattern.tokamak.server.service;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import fm.pattern.tokamak.server.repository.QueryMetrics;
+
+@Service
+class ExportServiceImpl implements ExportService {
+
+	private static final String accounts = "select account.id, account.username, account.locked, account.created, account.updated, "
+			+ "(select group_concat(role.name order by role.name separator ' ') from AccountRoles ar join Roles role on role.id = ar.role_id where ar.account_id = account.id) as roles "
+			+ "from Accounts account order by account._id";
+
+	private static final String clients = "select client.id, client.client_id as clientId, client.name, client.description, client.redirect_uri as redirectUri, "
+			+ "client.access_token_validity_seconds as accessTokenValiditySeconds, client.refresh_token_validity_seconds as refreshTokenValiditySeconds, client.created, client.updated, "
+			+ "(select group_concat(authority.name order by authority.name separator ' ') from ClientAuthorities ca join Authorities authority on authority.id = ca.authority_id where ca.client_id = client.id) as authorities, "
+			+ "(select group_concat(audience.name order by audience.name separator ' ') from ClientAudiences ca join Audiences audience on audience.id = ca.audience_id where ca.client_id = client.id) as audiences, "
+			+ "(select group_concat(grantType.name order by grantType.name separator ' ') from ClientGrantTypes cg join GrantTypes grantType on grantType.id = cg.grant_type_id where cg.client_id = client.id) as grantTypes, "
+			+ "(select group_concat(scope.name order by scope.name separator ' ') from ClientScopes cs join Scopes scope on scope.id = cs.scope_id where cs.client_id = client.id) as scopes "
+			+ "from Clients client order by client._id";
+
+	private static final String group_concat_max_len = "set session group_concat_max_len = @@global.max_allowed_packet";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate readOnlyTransaction;
+
+	@Autowired
+	public ExportServiceImpl(DataSource dataSource, PlatformTransactionManager transactionManager) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.jdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+	}
+
+	public void exportAccounts(Consumer<Map<String, Object>> rows) {
+		export("Accounts.export", accounts, rows);
+	}
+
+	public void exportClients(Consumer<Map<String, Object>> rows) {
+		export("Clients.export", clients, rows);
+	}
+
+	private void export(String name, String sql, Consumer<Map<String, Object>> rows) {
+		ColumnMapRowMapper mapper = new ColumnMapRowMapper();
+		readOnlyTransaction.execute(status -> QueryMetrics.named(name, () -> {
+			jdbcTemplate.execute(group_concat_max_len);
+			jdbcTemplate.query(sql, (RowCallbackHandler) resultSet -> rows.accept(mapper.mapRow(resultSet, resultSet.getRow())));
+			return null;
+		}));
+	}
+
+}
@@ -19,6 +19,7 @@ package fm.pattern.tokamak.server.service;
 import java.util.List;
 
 import fm.pattern.tokamak.server.model.GrantType;
+import fm.pattern.tokamak.server.repository.CollectionVersion;
 import fm.pattern.valex.Result;
 import fm.pattern.valex.annotations.Create;
 import fm.pattern.valex.annotations.Delete;
@@ -40,4 +41,6 @@ public interface GrantTypeService {
 
 	Result<List<GrantType>> list();
 
+	Result<CollectionVersion> version();
+
 }
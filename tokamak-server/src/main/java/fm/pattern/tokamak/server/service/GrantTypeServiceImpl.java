@@ -29,6 +29,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import fm.pattern.tokamak.server.model.GrantType;
+import fm.pattern.tokamak.server.repository.CollectionVersion;
 import fm.pattern.tokamak.server.repository.DataRepository;
 import fm.pattern.valex.Result;
 
@@ -68,7 +69,7 @@ class GrantTypeServiceImpl extends DataServiceImpl<GrantType> implements GrantTy
 			return Result.accept(new ArrayList<>());
 		}
 
-		return Result.accept(query("from GrantTypes where id in (:ids)").setParameter("ids", parameters).getResultList());
+		return Result.accept(findExistingById(parameters, GrantType.class));
 	}
 
 	@Transactional(readOnly = true)
@@ -77,7 +78,7 @@ class GrantTypeServiceImpl extends DataServiceImpl<GrantType> implements GrantTy
 			return Result.reject("grantType.name.required");
 		}
 
-		Result<GrantType> result = super.findBy("name", name, GrantType.class);
+		Result<GrantType> result = super.findByName(name, GrantType.class);
 		return result.accepted() ? result : Result.reject("grantType.name.not_found", name);
 	}
 
@@ -86,4 +87,9 @@ class GrantTypeServiceImpl extends DataServiceImpl<GrantType> implements GrantTy
 		return Result.accept(repository.query("from GrantTypes order by name").getResultList());
 	}
 
+	@Transactional(readOnly = true)
+	public Result<CollectionVersion> version() {
+		return super.version(GrantType.class);
+	}
+
 }
@@ -3,6 +3,7 @@ package fm.pattern.tokamak.server.service;
 import java.util.List;
 
 import fm.pattern.tokamak.server.model.PasswordPolicy;
+import fm.pattern.tokamak.server.repository.CollectionVersion;
 import fm.pattern.valex.Result;
 import fm.pattern.valex.annotations.Create;
 import fm.pattern.valex.annotations.Delete;
@@ -21,5 +22,7 @@ public interface PasswordPolicyService {
 	Result<PasswordPolicy> findByName(String name);
 
 	Result<List<PasswordPolicy>> list();
+
+	Result<CollectionVersion> version();
 	
 }
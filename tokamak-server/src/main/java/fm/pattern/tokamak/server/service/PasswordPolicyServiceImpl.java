@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import fm.pattern.tokamak.server.model.PasswordPolicy;
+import fm.pattern.tokamak.server.repository.CollectionVersion;
 import fm.pattern.tokamak.server.repository.DataRepository;
 import fm.pattern.valex.Result;
 
@@ -35,7 +36,7 @@ class PasswordPolicyServiceImpl extends DataServiceImpl<PasswordPolicy> implemen
 			return Result.reject("passwordPolicy.name.required");
 		}
 
-		Result<PasswordPolicy> result = super.findBy("name", name, PasswordPolicy.class);
+		Result<PasswordPolicy> result = super.findByName(name, PasswordPolicy.class);
 		return result.accepted() ? result : Result.reject("passwordPolicy.name.not_found", name);
 	}
 
@@ -44,4 +45,9 @@ class PasswordPolicyServiceImpl extends DataServiceImpl<PasswordPolicy> implemen
 		return Result.accept(repository.query("from PasswordPolicies order by name").getResultList());
 	}
 
+	@Transactional(readOnly = true)
+	public Result<CollectionVersion> version() {
+		return super.version(PasswordPolicy.class);
+	}
+
 }
@@ -19,6 +19,7 @@ package fm.pattern.tokamak.server.service;
 import java.util.List;
 
 import fm.pattern.tokamak.server.model.Role;
+import fm.pattern.tokamak.server.repository.CollectionVersion;
 import fm.pattern.valex.Result;
 import fm.pattern.valex.annotations.Create;
 import fm.pattern.valex.annotations.Delete;
@@ -32,10 +33,16 @@ public interface RoleService {
 
 	Result<Role> delete(@Delete Role role);
 
+	Result<List<Role>> upsert(List<Role> roles);
+
 	Result<Role> findById(String id);
 
+	Result<List<Role>> findExistingById(List<String> ids);
+
 	Result<Role> findByName(String name);
 	
 	Result<List<Role>> list();
 
+	Result<CollectionVersion> version();
+
 }
@@ -17,8 +17,11 @@
 package fm.pattern.tokamak.server.service;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -27,6 +30,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import fm.pattern.tokamak.server.model.Role;
 import fm.pattern.tokamak.server.repository.Cache;
+import fm.pattern.tokamak.server.repository.CacheSynchronizer;
+import fm.pattern.tokamak.server.repository.CollectionVersion;
 import fm.pattern.tokamak.server.repository.DataRepository;
 import fm.pattern.valex.Result;
 
@@ -36,18 +41,29 @@ class RoleServiceImpl extends DataServiceImpl<Role> implements RoleService {
 
 	private final DataRepository repository;
 	private final Cache cache;
+	private final CacheSynchronizer cacheSynchronizer;
 
 	@Autowired
-	RoleServiceImpl(@Qualifier("dataRepository") DataRepository repository, @Qualifier("accountCache") Cache cache) {
+	RoleServiceImpl(@Qualifier("dataRepository") DataRepository repository, @Qualifier("accountCache") Cache cache, CacheSynchronizer cacheSynchronizer) {
 		this.repository = repository;
 		this.cache = cache;
+		this.cacheSynchronizer = cacheSynchronizer;
 	}
 
 	@Transactional
 	public Result<Role> update(Role role) {
 		Result<Role> result = super.update(role);
 		if (result.accepted()) {
-			cache.flush();
+			cacheSynchronizer.flush(cache);
+		}
+		return result;
+	}
+
+	@Transactional
+	public Result<List<Role>> upsert(List<Role> roles) {
+		Result<List<Role>> result = super.upsert(roles, Role.class, Role::getName, Role::getDescription);
+		if (result.accepted()) {
+			cacheSynchronizer.flush(cache);
 		}
 		return result;
 	}
@@ -66,13 +82,27 @@ class RoleServiceImpl extends DataServiceImpl<Role> implements RoleService {
 		return super.findById(id, Role.class);
 	}
 
+	@Transactional(readOnly = true)
+	public Result<List<Role>> findExistingById(List<String> ids) {
+		if (ids == null || ids.isEmpty()) {
+			return Result.accept(new ArrayList<>());
+		}
+
+		List<String> parameters = ids.stream().filter(id -> isNotBlank(id)).collect(Collectors.toList());
+		if (parameters == null || parameters.isEmpty()) {
+			return Result.accept(new ArrayList<>());
+		}
+
+		return Result.accept(findExistingById(parameters, Role.class));
+	}
+
 	@Transactional(readOnly = true)
 	public Result<Role> findByName(String name) {
 		if (isBlank(name)) {
 			return Result.reject("role.name.required");
 		}
 
-		Result<Role> result = super.findBy("name", name, Role.class);
+		Result<Role> result = super.findByName(name, Role.class);
 		return result.accepted() ? result : Result.reject("role.name.not_found", name);
 	}
 
@@ -81,4 +111,9 @@ class RoleServiceImpl extends DataServiceImpl<Role> implements RoleService {
 		return Result.accept(repository.query("from Roles order by name").getResultList());
 	}
 
+	@Transactional(readOnly = true)
+	public Result<CollectionVersion> version() {
+		return super.version(Role.class);
+	}
+
 }
@@ -19,6 +19,7 @@ package fm.pattern.tokamak.server.service;
 import java.util.List;
 
 import fm.pattern.tokamak.server.model.Scope;
+import fm.pattern.tokamak.server.repository.CollectionVersion;
 import fm.pattern.valex.Result;
 import fm.pattern.valex.annotations.Create;
 import fm.pattern.valex.annotations.Delete;
@@ -32,6 +33,8 @@ public interface ScopeService {
 
 	Result<Scope> delete(@Delete Scope scope);
 
+	Result<List<Scope>> upsert(List<Scope> scopes);
+
 	Result<Scope> findById(String id);
 
 	Result<List<Scope>> findExistingById(List<String> ids);
@@ -40,4 +43,6 @@ public interface ScopeService {
 
 	Result<List<Scope>> list();
 
+	Result<CollectionVersion> version();
+
 }
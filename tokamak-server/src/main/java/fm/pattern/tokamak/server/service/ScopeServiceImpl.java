@@ -30,6 +30,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import fm.pattern.tokamak.server.model.Scope;
 import fm.pattern.tokamak.server.repository.Cache;
+import fm.pattern.tokamak.server.repository.CacheSynchronizer;
+import fm.pattern.tokamak.server.repository.ClientRegistry;
+import fm.pattern.tokamak.server.repository.CollectionVersion;
 import fm.pattern.tokamak.server.repository.DataRepository;
 import fm.pattern.valex.Result;
 
@@ -39,18 +42,33 @@ class ScopeServiceImpl extends DataServiceImpl<Scope> implements ScopeService {
 
 	private final DataRepository repository;
 	private final Cache cache;
+	private final CacheSynchronizer cacheSynchronizer;
+	private final ClientRegistry clientRegistry;
 
 	@Autowired
-	ScopeServiceImpl(@Qualifier("dataRepository") DataRepository repository, @Qualifier("clientCache") Cache cache) {
+	ScopeServiceImpl(@Qualifier("dataRepository") DataRepository repository, @Qualifier("clientCache") Cache cache, ClientRegistry clientRegistry, CacheSynchronizer cacheSynchronizer) {
 		this.repository = repository;
 		this.cache = cache;
+		this.cacheSynchronizer = cacheSynchronizer;
+		this.clientRegistry = clientRegistry;
 	}
 
 	@Transactional
 	public Result<Scope> update(Scope scope) {
 		Result<Scope> result = super.update(scope);
 		if (result.accepted()) {
-			cache.flush();
+			cacheSynchronizer.flush(cache);
+			cacheSynchronizer.afterCommit(clientRegistry::clear);
+		}
+		return result;
+	}
+
+	@Transactional
+	public Result<List<Scope>> upsert(List<Scope> scopes) {
+		Result<List<Scope>> result = super.upsert(scopes, Scope.class, Scope::getName, Scope::getDescription);
+		if (result.accepted()) {
+			cacheSynchronizer.flush(cache);
+			cacheSynchronizer.afterCommit(clientRegistry::clear);
 		}
 		return result;
 	}
@@ -80,7 +98,7 @@ class ScopeServiceImpl extends DataServiceImpl<Scope> implements ScopeService {
 			return Result.accept(new ArrayList<>());
 		}
 
-		return Result.accept(query("from Scopes where id in (:ids)").setParameter("ids", parameters).getResultList());
+		return Result.accept(findExistingById(parameters, Scope.class));
 	}
 
 	@Transactional(readOnly = true)
@@ -89,7 +107,7 @@ class ScopeServiceImpl extends DataServiceImpl<Scope> implements ScopeService {
 			return Result.reject("scope.name.required");
 		}
 
-		Result<Scope> result = super.findBy("name", name, Scope.class);
+		Result<Scope> result = super.findByName(name, Scope.class);
 		return result.accepted() ? result : Result.reject("scope.name.not_found", name);
 	}
 
@@ -98,4 +116,9 @@ class ScopeServiceImpl extends DataServiceImpl<Scope> implements ScopeService {
 		return Result.accept(repository.query("from Scopes order by name").getResultList());
 	}
 
+	@Transactional(readOnly = true)
+	public Result<CollectionVersion> version() {
+		return super.version(Scope.class);
+	}
+
 }
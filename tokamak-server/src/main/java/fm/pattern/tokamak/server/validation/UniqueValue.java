@@ -34,6 +34,8 @@ public @interface UniqueValue {
 
 	String property();
 
+	String constraint() default "";
+
 	String message() default "";
 
 	Class<?>[] groups() default {};
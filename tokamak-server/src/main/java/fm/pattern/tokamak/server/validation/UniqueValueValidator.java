@@ -18,20 +18,19 @@ package fm.pattern.tokamak.server.validation;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
-import javax.persistence.Entity;
 import javax.persistence.Query;
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import com.google.common.base.CaseFormat;
-
-import fm.pattern.minimal.Reflection;
 import fm.pattern.tokamak.server.model.PersistentEntity;
 import fm.pattern.tokamak.server.repository.DataRepository;
+import fm.pattern.tokamak.server.repository.QueryRegistry;
+import fm.pattern.tokamak.server.repository.QueryRegistry.Lookup;
 import fm.pattern.valex.ValidatorSupport;
 
 @Component
@@ -39,10 +38,14 @@ public class UniqueValueValidator extends ValidatorSupport implements Constraint
 
 	private String property;
 	private final DataRepository repository;
+	private final QueryRegistry queries;
+	private final boolean enforcedByConstraint;
 
 	@Autowired
-	public UniqueValueValidator(@Qualifier("transactionalDataRepository") DataRepository repository) {
+	public UniqueValueValidator(@Qualifier("transactionalDataRepository") DataRepository repository, QueryRegistry queries, @Value("${validation.unique.mode:query}") String mode) {
 		this.repository = repository;
+		this.queries = queries;
+		this.enforcedByConstraint = "constraint".equalsIgnoreCase(mode);
 	}
 
 	public void initialize(UniqueValue annotation) {
@@ -50,25 +53,19 @@ public class UniqueValueValidator extends ValidatorSupport implements Constraint
 	}
 
 	public boolean isValid(PersistentEntity entity, ConstraintValidatorContext constraint) {
-		final String value = (String) Reflection.get(entity, property);
-		if (isBlank(value)) {
+		if (enforcedByConstraint) {
 			return true;
 		}
 
-		String columnName = CaseFormat.UPPER_CAMEL.to(CaseFormat.LOWER_UNDERSCORE, property);
+		Lookup lookup = queries.lookup(entity.getClass(), property);
 
-		String query = "select count(id) from " + getTableName(entity) + " where " + columnName + " = :value and id != :id";
-		Query q = repository.query(query).setParameter("value", value).setParameter("id", entity.getId());
+		final String value = (String) lookup.valueOf(entity);
+		if (isBlank(value)) {
+			return true;
+		}
 
+		Query q = repository.namedQuery(lookup.getUniquenessCheck()).setParameter("value", value).setParameter("id", entity.getId());
 		return repository.count(q) == 0;
 	}
 
-	private String getTableName(PersistentEntity entity) {
-		if (entity.getClass().isAnnotationPresent(Entity.class)) {
-			Entity annotation = entity.getClass().getAnnotation(Entity.class);
-			return annotation.name();
-		}
-		throw new IllegalStateException(entity.getClass().getSimpleName() + " must have an @Entity annotation configured with the entity name.");
-	}
-
 }
@@ -0,0 +1 @@
+ALTER TABLE Clients ADD INDEX clients_created_idx (created, id);
@@ -0,0 +1,71 @@
+package fm.pattern.tokamak.server.conversion;
+
+import static fm.pattern.tokamak.server.dsl.ClientDSL.client;
+import static fm.pattern.tokamak.server.dsl.ScopeDSL.scope;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import fm.pattern.tokamak.sdk.dsl.ClientDSL;
+import fm.pattern.tokamak.sdk.model.ClientRepresentation;
+import fm.pattern.tokamak.sdk.model.ScopeRepresentation;
+import fm.pattern.tokamak.server.IntegrationTest;
+import fm.pattern.tokamak.server.model.Client;
+import fm.pattern.tokamak.server.model.Scope;
+import fm.pattern.tokamak.server.repository.LatencyHistogram;
+import fm.pattern.tokamak.server.repository.QueryMetrics;
+
+@TestPropertySource(properties = "datasource.instrumentation.enabled=true")
+public class AssociationsIntegrationTest extends IntegrationTest {
+
+	@Autowired
+	private ClientConversionService clientConversionService;
+
+	@Autowired
+	private ScopeConversionService scopeConversionService;
+
+	@Autowired
+	private QueryMetrics queryMetrics;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Test
+	public void shouldOnlyWriteTheJoinRowsThatChanged() {
+		List<Scope> scopes = IntStream.range(0, 5).mapToObj(i -> scope().save()).collect(Collectors.toList());
+		Scope added = scope().save();
+		Client client = client().withScope(scopes.toArray(new Scope[scopes.size()])).save();
+		entityManager.flush();
+		entityManager.clear();
+
+		Client loaded = entityManager.createQuery("from Clients client where client.id = :id", Client.class).setParameter("id", client.getId()).getSingleResult();
+		List<ScopeRepresentation> requested = scopes.subList(1, scopes.size()).stream().map(scope -> scopeConversionService.convert(scope)).collect(Collectors.toList());
+		requested.add(scopeConversionService.convert(added));
+		ClientRepresentation representation = ClientDSL.client().withScopes(requested.toArray(new ScopeRepresentation[requested.size()])).build();
+
+		long inserts = count("ClientScopes.insert");
+		long deletes = count("ClientScopes.delete");
+
+		clientConversionService.convert(representation, loaded);
+		entityManager.flush();
+
+		assertThat(count("ClientScopes.insert") - inserts).isEqualTo(1);
+		assertThat(count("ClientScopes.delete") - deletes).isEqualTo(1);
+		assertThat(loaded.getScopes()).hasSize(5).contains(added).doesNotContain(scopes.get(0));
+	}
+
+	private long count(String name) {
+		LatencyHistogram histogram = queryMetrics.getHistograms().get(name);
+		return histogram == null ? 0 : histogram.getCount();
+	}
+
+}
@@ -7,6 +7,8 @@ import static fm.pattern.tokamak.server.dsl.GrantTypeDSL.grantType;
 import static fm.pattern.tokamak.server.dsl.ScopeDSL.scope;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Set;
+
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -122,4 +124,19 @@ public class ClientConversionServiceTest extends IntegrationTest {
 		assertThat(updated.getRefreshTokenValiditySeconds()).isEqualTo(representation.getRefreshTokenValiditySeconds());
 	}
 
+	@Test
+	public void shouldUpdateTheAssociationsOfAnExistingClientInPlace() {
+		Scope retained = scope().save();
+		Scope removed = scope().save();
+		Scope added = scope().save();
+
+		Client client = client().withScope(retained, removed).save();
+		Set<Scope> scopes = client.getScopes();
+		ClientRepresentation representation = ClientDSL.client().withScopes(scopeConversionService.convert(retained), scopeConversionService.convert(added)).build();
+
+		Client updated = clientConversionService.convert(representation, client);
+		assertThat(updated.getScopes()).isSameAs(scopes);
+		assertThat(updated.getScopes()).containsOnly(retained, added);
+	}
+
 }
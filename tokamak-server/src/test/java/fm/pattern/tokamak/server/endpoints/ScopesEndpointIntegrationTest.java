@@ -0,0 +1,79 @@
+package fm.pattern.tokamak.server.endpoints;
+
+import static fm.pattern.tokamak.server.dsl.ScopeDSL.scope;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import fm.pattern.tokamak.sdk.model.ScopesRepresentation;
+import fm.pattern.tokamak.server.IntegrationTest;
+import fm.pattern.tokamak.server.conversion.ScopeConversionService;
+import fm.pattern.tokamak.server.model.Scope;
+import fm.pattern.tokamak.server.service.ScopeService;
+
+public class ScopesEndpointIntegrationTest extends IntegrationTest {
+
+	@Autowired
+	private ScopeService scopeService;
+
+	@Autowired
+	private ScopeConversionService scopeConversionService;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private ScopesEndpoint endpoint;
+
+	@Before
+	public void before() {
+		this.endpoint = new ScopesEndpoint(scopeService, scopeConversionService);
+	}
+
+	@Test
+	public void shouldAnswerAnUnchangedScopeListWithNotModified() {
+		scope().save();
+		entityManager.flush();
+
+		MockHttpServletResponse first = new MockHttpServletResponse();
+		assertThat(endpoint.list(new ServletWebRequest(new MockHttpServletRequest("GET", "/v1/scopes"), first))).isNotNull();
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/scopes");
+		request.addHeader("If-None-Match", first.getHeader("ETag"));
+		MockHttpServletResponse second = new MockHttpServletResponse();
+
+		assertThat(endpoint.list(new ServletWebRequest(request, second))).isNull();
+		assertThat(second.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+	}
+
+	@Test
+	public void shouldReturnTheScopeListAfterAScopeIsDeletedEvenIfNothingWasModifiedSince() {
+		Scope deleted = scope().save();
+		Scope latest = scope().save();
+		entityManager.flush();
+
+		MockHttpServletResponse first = new MockHttpServletResponse();
+		endpoint.list(new ServletWebRequest(new MockHttpServletRequest("GET", "/v1/scopes"), first));
+		assertThat(first.getHeader("Last-Modified")).isNull();
+
+		scopeService.delete(deleted).orThrow();
+		entityManager.flush();
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/scopes");
+		request.addHeader("If-Modified-Since", latest.getUpdated().getTime() + 60000);
+		MockHttpServletResponse second = new MockHttpServletResponse();
+
+		ScopesRepresentation representation = endpoint.list(new ServletWebRequest(request, second));
+		assertThat(second.getStatus()).isEqualTo(HttpStatus.OK.value());
+		assertThat(representation.getScopes()).extracting("name").contains(latest.getName()).doesNotContain(deleted.getName());
+	}
+
+}
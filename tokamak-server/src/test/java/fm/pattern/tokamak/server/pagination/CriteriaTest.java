@@ -7,6 +7,7 @@ import java.util.Date;
 import org.junit.Test;
 
 import fm.pattern.tokamak.server.repository.Criteria;
+import fm.pattern.tokamak.server.repository.TotalCount;
 
 public class CriteriaTest {
 
@@ -36,4 +37,26 @@ public class CriteriaTest {
 		assertThat(Criteria.criteria().limit(15).getLimit()).isEqualTo(15);
 	}
 
+	@Test
+	public void shouldUseAnExactTotalByDefault() {
+		assertThat(Criteria.criteria().getTotalCount()).isEqualTo(TotalCount.EXACT);
+		assertThat(Criteria.criteria().total((String) null).getTotalCount()).isEqualTo(TotalCount.EXACT);
+		assertThat(Criteria.criteria().total(" ").getTotalCount()).isEqualTo(TotalCount.EXACT);
+	}
+
+	@Test
+	public void shouldFlagAnUnknownTotalCountStrategyAsInvalid() {
+		Criteria criteria = Criteria.criteria().total("aproximate");
+		assertThat(criteria.hasValidTotal()).isFalse();
+		assertThat(criteria.getRequestedTotal()).isEqualTo("aproximate");
+		assertThat(Criteria.criteria().total("approximate").hasValidTotal()).isTrue();
+	}
+
+	@Test
+	public void shouldBeAbleToSetATotalCountStrategy() {
+		assertThat(Criteria.criteria().total("none").getTotalCount()).isEqualTo(TotalCount.NONE);
+		assertThat(Criteria.criteria().total("Cached").getTotalCount()).isEqualTo(TotalCount.CACHED);
+		assertThat(Criteria.criteria().total(TotalCount.APPROXIMATE).getTotalCount()).isEqualTo(TotalCount.APPROXIMATE);
+	}
+
 }
@@ -0,0 +1,56 @@
+package fm.pattern.tokamak.server.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class AccessTrackerTest {
+
+	private AtomicLong clock;
+	private AccessTracker tracker;
+
+	@Before
+	public void before() {
+		clock = new AtomicLong(0);
+		tracker = new AccessTracker(3, 1000, 2, clock::get);
+	}
+
+	@Test
+	public void shouldReportAKeyAsHotOnceTheThresholdIsReached() {
+		assertThat(tracker.record("a")).isFalse();
+		assertThat(tracker.record("a")).isFalse();
+		assertThat(tracker.record("a")).isTrue();
+	}
+
+	@Test
+	public void shouldCarryCountsFromThePreviousWindow() {
+		tracker.record("a");
+		tracker.record("a");
+
+		clock.set(1000);
+		assertThat(tracker.record("a")).isTrue();
+	}
+
+	@Test
+	public void shouldForgetCountsOlderThanThePreviousWindow() {
+		tracker.record("a");
+		tracker.record("a");
+
+		clock.set(2500);
+		assertThat(tracker.record("a")).isFalse();
+	}
+
+	@Test
+	public void shouldNotTrackMoreKeysThanItsCapacity() {
+		tracker.record("a");
+		tracker.record("b");
+
+		assertThat(tracker.record("c")).isFalse();
+		assertThat(tracker.record("c")).isFalse();
+		assertThat(tracker.record("c")).isFalse();
+	}
+
+}
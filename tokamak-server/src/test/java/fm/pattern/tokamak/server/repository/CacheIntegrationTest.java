@@ -3,9 +3,12 @@ package fm.pattern.tokamak.server.repository;
 import static fm.pattern.tokamak.server.dsl.AccountDSL.account;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Arrays;
+
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisTemplate;
 
 import fm.pattern.tokamak.server.IntegrationTest;
 import fm.pattern.tokamak.server.model.Account;
@@ -16,6 +19,14 @@ public class CacheIntegrationTest extends IntegrationTest {
 	@Qualifier("accountCache")
 	private Cache cache;
 
+	@Autowired
+	@Qualifier("accountRedisTemplate")
+	private RedisTemplate<String, Object> template;
+
+	@Autowired
+	@Qualifier("accountCircuitBreaker")
+	private CircuitBreaker breaker;
+
 	@Test
 	public void shouldBeAbleToStoreAndRetrieveAndDeleteAnObjectFromCache() {
 		Account account = account().save();
@@ -60,4 +71,55 @@ public class CacheIntegrationTest extends IntegrationTest {
 		assertThat(cache.get("account3", Account.class)).isNull();
 	}
 
+	@Test
+	public void shouldBeAbleToResolveAnObjectThroughAnAlias() {
+		Account account = account().save();
+		cache.put("accounts:id:alias-test", account, "accounts:username:alias-test");
+
+		assertThat(cache.resolve("accounts:username:alias-test", Account.class)).isEqualTo(account);
+		assertThat(cache.get("accounts:id:alias-test", Account.class)).isEqualTo(account);
+
+		cache.delete("accounts:id:alias-test", "accounts:username:alias-test");
+		assertThat(cache.resolve("accounts:username:alias-test", Account.class)).isNull();
+		assertThat(cache.get("accounts:id:alias-test", Account.class)).isNull();
+	}
+
+	@Test
+	public void shouldReturnANullValueWhenAnAliasCannotBeResolved() {
+		assertThat(cache.resolve("accounts:username:lasidjfalsdifjsl", Account.class)).isNull();
+	}
+
+	@Test
+	public void shouldNotReplaceANewerVersionOfAnObject() {
+		cache.put("versioned", "newer", 20L);
+		cache.put("versioned", "older", 10L);
+		assertThat(cache.get("versioned", String.class)).isEqualTo("newer");
+
+		cache.put("versioned", "newest", 30L);
+		assertThat(cache.get("versioned", String.class)).isEqualTo("newest");
+
+		cache.delete("versioned");
+	}
+
+	@Test
+	public void shouldIgnoreEntriesWrittenWithThePreviousKeyLayout() {
+		template.opsForValue().set("legacy", "value");
+		template.opsForValue().set("accounts:username:legacy", "value");
+		long trips = breaker.getTrips();
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(cache.get("legacy", String.class)).isNull();
+			assertThat(cache.resolve("accounts:username:legacy", String.class)).isNull();
+		}
+
+		cache.put("legacy", "current", 1L, "accounts:username:legacy");
+		assertThat(cache.get("legacy", String.class)).isEqualTo("current");
+		assertThat(cache.resolve("accounts:username:legacy", String.class)).isEqualTo("current");
+		assertThat(breaker.getTrips()).isEqualTo(trips);
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+		cache.delete("legacy", "accounts:username:legacy");
+		template.delete(Arrays.asList("legacy", "accounts:username:legacy"));
+	}
+
 }
@@ -0,0 +1,95 @@
+package fm.pattern.tokamak.server.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+public class CacheSynchronizerTest {
+
+	private RefreshAhead refreshAhead;
+	private Cache cache;
+	private CacheSynchronizer synchronizer;
+
+	@Before
+	public void before() {
+		refreshAhead = new RefreshAhead(false, 0.2, 20, 60L, 1000, 1, 10);
+		cache = new LocalCache(refreshAhead, 100L, 60L) {
+		};
+		synchronizer = new CacheSynchronizer();
+	}
+
+	@After
+	public void after() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		refreshAhead.shutdown();
+	}
+
+	@Test
+	public void shouldWriteImmediatelyWhenNoTransactionIsActive() {
+		synchronizer.put(cache, new CacheEntry("id:1", "value", 1L, "name:one"));
+		assertThat(cache.resolve("name:one", String.class)).isEqualTo("value");
+
+		synchronizer.delete(cache, "id:1", "name:one");
+		assertThat(cache.contains("id:1")).isFalse();
+	}
+
+	@Test
+	public void shouldDeferWritesUntilTheTransactionCommits() {
+		TransactionSynchronizationManager.initSynchronization();
+		synchronizer.put(cache, new CacheEntry("id:1", "value", 1L));
+		assertThat(cache.contains("id:1")).isFalse();
+
+		TransactionSynchronizationUtils.triggerAfterCommit();
+		assertThat(cache.get("id:1", String.class)).isEqualTo("value");
+	}
+
+	@Test
+	public void shouldDiscardWritesWhenTheTransactionRollsBack() {
+		TransactionSynchronizationManager.initSynchronization();
+		synchronizer.put(cache, new CacheEntry("id:1", "value", 1L));
+
+		TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+		TransactionSynchronizationManager.clearSynchronization();
+
+		assertThat(cache.contains("id:1")).isFalse();
+	}
+
+	@Test
+	public void shouldApplyTheLastOperationForEachKey() {
+		cache.put("id:2", "existing");
+
+		TransactionSynchronizationManager.initSynchronization();
+		synchronizer.put(cache, new CacheEntry("id:1", "first", 1L));
+		synchronizer.delete(cache, "id:1", "id:2");
+		synchronizer.put(cache, new CacheEntry("id:2", "second", 2L));
+		TransactionSynchronizationUtils.triggerAfterCommit();
+
+		assertThat(cache.contains("id:1")).isFalse();
+		assertThat(cache.get("id:2", String.class)).isEqualTo("second");
+	}
+
+	@Test
+	public void shouldDiscardPendingWritesWhenTheCacheIsFlushed() {
+		TransactionSynchronizationManager.initSynchronization();
+		AtomicBoolean ran = new AtomicBoolean();
+		synchronizer.put(cache, new CacheEntry("id:1", "value", 1L));
+		synchronizer.flush(cache);
+		synchronizer.afterCommit(() -> ran.set(true));
+		assertThat(ran.get()).isFalse();
+
+		TransactionSynchronizationUtils.triggerAfterCommit();
+		assertThat(cache.contains("id:1")).isFalse();
+		assertThat(ran.get()).isTrue();
+	}
+
+}
@@ -0,0 +1,97 @@
+package fm.pattern.tokamak.server.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class CircuitBreakerTest {
+
+	private AtomicLong clock;
+	private CircuitBreaker breaker;
+
+	@Before
+	public void before() {
+		clock = new AtomicLong(0);
+		breaker = new CircuitBreaker("test", 3, 1000, clock::get);
+	}
+
+	@Test
+	public void shouldAllowRequestsWhenTheBreakerIsClosed() {
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+		assertThat(breaker.allowRequest()).isTrue();
+	}
+
+	@Test
+	public void shouldOpenTheBreakerWhenTheFailureThresholdIsReached() {
+		breaker.failure();
+		breaker.failure();
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+		breaker.failure();
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThat(breaker.getTrips()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldResetTheFailureCountOnSuccess() {
+		breaker.failure();
+		breaker.failure();
+		breaker.success();
+		breaker.failure();
+		breaker.failure();
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	public void shouldRejectRequestsWhileTheBreakerIsOpen() {
+		trip();
+		assertThat(breaker.allowRequest()).isFalse();
+		assertThat(breaker.allowRequest()).isFalse();
+		assertThat(breaker.getRejected()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldAllowASingleProbeOnceTheOpenIntervalHasElapsed() {
+		trip();
+		clock.set(1000);
+
+		assertThat(breaker.allowRequest()).isTrue();
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+		assertThat(breaker.allowRequest()).isFalse();
+	}
+
+	@Test
+	public void shouldCloseTheBreakerWhenTheProbeSucceeds() {
+		trip();
+		clock.set(1000);
+
+		assertThat(breaker.allowRequest()).isTrue();
+		breaker.success();
+
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+		assertThat(breaker.allowRequest()).isTrue();
+	}
+
+	@Test
+	public void shouldReopenTheBreakerWhenTheProbeFails() {
+		trip();
+		clock.set(1000);
+
+		assertThat(breaker.allowRequest()).isTrue();
+		breaker.failure();
+
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThat(breaker.allowRequest()).isFalse();
+		assertThat(breaker.getTrips()).isEqualTo(2);
+	}
+
+	private void trip() {
+		breaker.failure();
+		breaker.failure();
+		breaker.failure();
+	}
+
+}
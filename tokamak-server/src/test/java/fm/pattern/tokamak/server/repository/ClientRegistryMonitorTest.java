@@ -0,0 +1,59 @@
+package fm.pattern.tokamak.server.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import fm.pattern.tokamak.server.security.AuthenticatedClient;
+
+public class ClientRegistryMonitorTest {
+
+	private AtomicReference<String> version;
+	private ClientRegistry registry;
+	private ClientRegistryMonitor monitor;
+
+	@Before
+	public void before() {
+		version = new AtomicReference<>("1@2017-01-01");
+		registry = new ClientRegistry(true, 100, 64 * 1024, 60000, 10, new AtomicLong(0)::get);
+		monitor = new ClientRegistryMonitor(registry, version::get);
+		monitor.synchronize();
+	}
+
+	@Test
+	public void shouldKeepTheRegistryWhileTheClientDataIsUnchanged() {
+		registry.put(client("device-1"));
+		monitor.synchronize();
+
+		assertThat(registry.find("device-1")).isNotNull();
+	}
+
+	@Test
+	public void shouldClearTheRegistryWhenTheClientDataChangesOnAnotherNode() {
+		registry.put(client("device-1"));
+		version.set("0@2017-01-02");
+		monitor.synchronize();
+
+		assertThat(registry.find("device-1")).isNull();
+	}
+
+	@Test
+	public void shouldClearTheRegistryWhenTheClientDataCannotBeRead() {
+		registry.put(client("device-1"));
+		new ClientRegistryMonitor(registry, () -> {
+			throw new IllegalStateException("database unavailable");
+		}).synchronize();
+
+		assertThat(registry.find("device-1")).isNull();
+	}
+
+	private AuthenticatedClient client(String clientId) {
+		return new AuthenticatedClient(clientId, "secret", Collections.singleton("accounts:read"), Collections.singleton("tokamak:admin"), Collections.singleton("client_credentials"), Collections.singleton("www.pattern.fm"), 600, null);
+	}
+
+}
@@ -0,0 +1,154 @@
+package fm.pattern.tokamak.server.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import fm.pattern.tokamak.server.security.AuthenticatedClient;
+
+public class ClientRegistryTest {
+
+	private AtomicLong clock;
+	private ClientRegistry registry;
+
+	@Before
+	public void before() {
+		clock = new AtomicLong(0);
+		registry = new ClientRegistry(true, 100, 64 * 1024, 1000, 10, clock::get);
+	}
+
+	@Test
+	public void shouldBeAbleToStoreAndFindAClient() {
+		registry.put(client("device-1", "secret"));
+
+		AuthenticatedClient client = registry.find("device-1");
+		assertThat(client.getClientId()).isEqualTo("device-1");
+		assertThat(client.getClientSecret()).isEqualTo("secret");
+		assertThat(client.getScope()).containsOnly("accounts:read", "accounts:create");
+		assertThat(client.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsOnly("tokamak:admin");
+		assertThat(client.getAuthorizedGrantTypes()).containsOnly("client_credentials");
+		assertThat(client.getResourceIds()).containsOnly("www.pattern.fm");
+		assertThat(client.getAccessTokenValiditySeconds()).isEqualTo(600);
+		assertThat(client.getRefreshTokenValiditySeconds()).isNull();
+	}
+
+	@Test
+	public void shouldDecodeAStoredClientOnlyOnce() {
+		registry.put(client("device-1", "secret"));
+
+		assertThat(registry.find("device-1")).isSameAs(registry.find("device-1"));
+	}
+
+	@Test
+	public void shouldNotReturnAPreviouslyDecodedClientOnceItHasBeenReplaced() {
+		registry.put(client("device-1", "secret"));
+		AuthenticatedClient client = registry.find("device-1");
+
+		registry.put(client("device-1", "updated"));
+
+		assertThat(registry.find("device-1")).isNotSameAs(client);
+		assertThat(registry.find("device-1").getClientSecret()).isEqualTo("updated");
+	}
+
+	@Test
+	public void shouldReturnANullValueWhenAClientCannotBeFound() {
+		assertThat(registry.find("unknown")).isNull();
+	}
+
+	@Test
+	public void shouldReplaceAnExistingClient() {
+		registry.put(client("device-1", "secret"));
+		registry.put(client("device-1", "updated"));
+
+		assertThat(registry.find("device-1").getClientSecret()).isEqualTo("updated");
+		assertThat(registry.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldBeAbleToRemoveAClient() {
+		registry.put(client("device-1", "secret"));
+		registry.remove("device-1");
+
+		assertThat(registry.find("device-1")).isNull();
+		assertThat(registry.size()).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldNotReturnExpiredClients() {
+		registry.put(client("device-1", "secret"));
+		clock.set(1001);
+
+		assertThat(registry.find("device-1")).isNull();
+	}
+
+	@Test
+	public void shouldNotStoreMoreClientsThanItsCapacity() {
+		for (int i = 0; i < 150; i++) {
+			registry.put(client("device-" + i, "secret"));
+		}
+
+		assertThat(registry.size()).isEqualTo(100);
+		assertThat(registry.find("device-99")).isNotNull();
+		assertThat(registry.find("device-100")).isNull();
+	}
+
+	@Test
+	public void shouldStoreNewClientsOnceExpiredClientsFreeUpCapacity() {
+		for (int i = 0; i < 100; i++) {
+			registry.put(client("device-" + i, "secret"));
+		}
+		registry.put(client("device-100", "secret"));
+		assertThat(registry.find("device-100")).isNull();
+
+		clock.set(1001);
+		registry.put(client("device-100", "secret"));
+
+		assertThat(registry.find("device-100")).isNotNull();
+		assertThat(registry.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldReclaimSpaceFromReplacedAndRemovedClients() {
+		for (int i = 0; i < 5000; i++) {
+			registry.put(client("device-" + (i % 10), "secret-" + i));
+		}
+
+		assertThat(registry.size()).isEqualTo(10);
+		assertThat(registry.find("device-9").getClientSecret()).isEqualTo("secret-4999");
+	}
+
+	@Test
+	public void shouldBeAbleToClearTheRegistry() {
+		registry.put(client("device-1", "secret"));
+		registry.put(client("device-2", "secret"));
+		registry.clear();
+
+		assertThat(registry.find("device-1")).isNull();
+		assertThat(registry.find("device-2")).isNull();
+		assertThat(registry.size()).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldIgnoreAllOperationsWhenTheRegistryIsDisabled() {
+		ClientRegistry disabled = new ClientRegistry(false, 100, 1024, 1000, 10, clock::get);
+		disabled.put(client("device-1", "secret"));
+
+		assertThat(disabled.find("device-1")).isNull();
+	}
+
+	private AuthenticatedClient client(String clientId, String secret) {
+		return new AuthenticatedClient(clientId, secret, set("accounts:read", "accounts:create"), set("tokamak:admin"), set("client_credentials"), set("www.pattern.fm"), 600, null);
+	}
+
+	private Set<String> set(String... values) {
+		return new HashSet<>(Arrays.asList(values));
+	}
+
+}
@@ -0,0 +1,94 @@
+package fm.pattern.tokamak.server.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.util.StringUtils;
+
+// Runs against a real cluster when one is supplied with -Dredis.cluster.nodes=host:port,host:port.
+public class ClusteredRedisCacheIntegrationTest {
+
+	private JedisConnectionFactory connectionFactory;
+	private RefreshAhead refreshAhead;
+	private CircuitBreaker breaker;
+	private Cache cache;
+
+	@Before
+	public void before() {
+		String nodes = System.getProperty("redis.cluster.nodes");
+		assumeTrue(StringUtils.hasText(nodes));
+
+		connectionFactory = new JedisConnectionFactory(new RedisClusterConfiguration(StringUtils.commaDelimitedListToSet(nodes)));
+		connectionFactory.afterPropertiesSet();
+
+		RedisTemplate<String, Object> template = new RedisTemplate<>();
+		template.setConnectionFactory(connectionFactory);
+		template.afterPropertiesSet();
+
+		refreshAhead = new RefreshAhead(false, 0.2, 20, 60L, 1000, 1, 10);
+		breaker = new CircuitBreaker("cluster-test", 1, 60000);
+		cache = new RedisCache("cluster-test", true, template, breaker, refreshAhead, 60L) {
+		};
+		cache.flush();
+	}
+
+	@After
+	public void after() {
+		if (cache != null) {
+			cache.flush();
+			refreshAhead.shutdown();
+			connectionFactory.destroy();
+		}
+	}
+
+	@Test
+	public void shouldBeAbleToStoreAndResolveAnObjectThroughAnAlias() {
+		cache.put("clients:id:1", "client", 10L, "clients:client_id:1");
+
+		assertThat(cache.get("clients:id:1", String.class)).isEqualTo("client");
+		assertThat(cache.resolve("clients:client_id:1", String.class)).isEqualTo("client");
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	public void shouldNotReplaceANewerVersionOfAnObject() {
+		cache.put("versioned", "newer", 20L);
+		cache.put("versioned", "older", 10L);
+		assertThat(cache.get("versioned", String.class)).isEqualTo("newer");
+
+		cache.put("versioned", "newest", 30L);
+		assertThat(cache.get("versioned", String.class)).isEqualTo("newest");
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	public void shouldKeepTheNewestVersionWhenWritersRace() {
+		IntStream.rangeClosed(1, 200).parallel().forEach(version -> cache.put("raced", "version-" + version, (long) version));
+
+		assertThat(cache.get("raced", String.class)).isEqualTo("version-200");
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	public void shouldFlushEveryKeyInTheNamespaceAcrossTheCluster() {
+		for (int i = 0; i < 1200; i++) {
+			cache.put("key" + i, "value" + i, "alias" + i);
+		}
+
+		cache.flush();
+
+		assertThat(cache.get("key0", String.class)).isNull();
+		assertThat(cache.get("key1199", String.class)).isNull();
+		assertThat(cache.resolve("alias600", String.class)).isNull();
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+}
@@ -0,0 +1,42 @@
+package fm.pattern.tokamak.server.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class CursorTest {
+
+	@Test
+	public void shouldBeAbleToDecodeAnEncodedCursor() {
+		Cursor cursor = Cursor.decode(Cursor.cursor("1496128564123", "cli_vthrewfbhgbt2bm46bks").encode());
+		assertThat(cursor.getKey()).isEqualTo("1496128564123");
+		assertThat(cursor.getKeyAsLong()).isEqualTo(1496128564123L);
+		assertThat(cursor.getId()).isEqualTo("cli_vthrewfbhgbt2bm46bks");
+	}
+
+	@Test
+	public void shouldPreserveSeparatorsInTheKey() {
+		Cursor cursor = Cursor.decode(Cursor.cursor("user:name@email.com", "acc_iYptwy15G2gUtVkoEFjg").encode());
+		assertThat(cursor.getKey()).isEqualTo("user:name@email.com");
+		assertThat(cursor.getId()).isEqualTo("acc_iYptwy15G2gUtVkoEFjg");
+	}
+
+	@Test
+	public void shouldProduceAUrlSafeToken() {
+		assertThat(Cursor.cursor("??>>??", "id").encode()).doesNotContain("+", "/", "=");
+	}
+
+	@Test
+	public void shouldNotDecodeAnInvalidToken() {
+		assertThat(Cursor.decode(null)).isNull();
+		assertThat(Cursor.decode("  ")).isNull();
+		assertThat(Cursor.decode("not a token!")).isNull();
+		assertThat(Cursor.decode(Cursor.cursor("", "id").encode())).isNull();
+	}
+
+	@Test
+	public void shouldNotReturnANumericKeyForANonNumericCursor() {
+		assertThat(Cursor.cursor("username", "id").getKeyAsLong()).isNull();
+	}
+
+}
@@ -0,0 +1,50 @@
+package fm.pattern.tokamak.server.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	private final LatencyHistogram histogram = new LatencyHistogram();
+
+	@Test
+	public void shouldBeEmptyBeforeAnythingIsRecorded() {
+		assertThat(histogram.getCount()).isEqualTo(0);
+		assertThat(histogram.getMeanMillis()).isEqualTo(0.0);
+		assertThat(histogram.getPercentileMillis(0.99)).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldRecordTheCountMeanAndMaximum() {
+		histogram.record(TimeUnit.MILLISECONDS.toNanos(10));
+		histogram.record(TimeUnit.MILLISECONDS.toNanos(30));
+
+		assertThat(histogram.getCount()).isEqualTo(2);
+		assertThat(histogram.getMeanMillis()).isEqualTo(20.0);
+		assertThat(histogram.getMaxMillis()).isEqualTo(30.0);
+	}
+
+	@Test
+	public void shouldReportPercentilesAsTheUpperBoundOfTheirBucket() {
+		for (int i = 0; i < 99; i++) {
+			histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+		}
+		histogram.record(TimeUnit.MILLISECONDS.toNanos(400));
+
+		assertThat(histogram.getPercentileMillis(0.50)).isEqualTo(5);
+		assertThat(histogram.getPercentileMillis(0.99)).isEqualTo(5);
+		assertThat(histogram.getPercentileMillis(1.0)).isEqualTo(500);
+		assertThat(histogram.getBuckets()).containsEntry("le5", 99L).containsEntry("le500", 1L);
+	}
+
+	@Test
+	public void shouldCountSlowStatementsInTheOverflowBucket() {
+		histogram.record(TimeUnit.SECONDS.toNanos(20));
+		assertThat(histogram.getBuckets()).containsEntry("inf", 1L);
+		assertThat(histogram.getPercentileMillis(0.99)).isEqualTo(20000);
+	}
+
+}
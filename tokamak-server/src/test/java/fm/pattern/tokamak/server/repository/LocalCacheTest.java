@@ -0,0 +1,85 @@
+package fm.pattern.tokamak.server.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LocalCacheTest {
+
+	private RefreshAhead refreshAhead;
+	private Cache cache;
+
+	@Before
+	public void before() {
+		refreshAhead = new RefreshAhead(true, 0.2, 20, 60L, 1000, 1, 10);
+		cache = new LocalCache(refreshAhead, 100L, 60L) {
+		};
+	}
+
+	@After
+	public void after() {
+		refreshAhead.shutdown();
+	}
+
+	@Test
+	public void shouldBeAbleToStoreAndRetrieveAndDeleteAnObjectFromCache() {
+		cache.put("key", "value");
+		assertThat(cache.get("key", String.class)).isEqualTo("value");
+
+		cache.delete("key");
+		assertThat(cache.get("key", String.class)).isNull();
+	}
+
+	@Test
+	public void shouldReturnACopyOfTheCachedObject() {
+		StringBuilder value = new StringBuilder("value");
+		cache.put("key", value);
+		value.append("-changed");
+
+		assertThat(cache.get("key", StringBuilder.class).toString()).isEqualTo("value");
+		assertThat(cache.get("key", StringBuilder.class)).isNotSameAs(cache.get("key", StringBuilder.class));
+	}
+
+	@Test
+	public void shouldBeAbleToResolveAnObjectThroughAnAlias() {
+		cache.put("id:1", "value", "name:one");
+		assertThat(cache.resolve("name:one", String.class)).isEqualTo("value");
+		assertThat(cache.resolve("name:two", String.class)).isNull();
+
+		cache.delete("id:1");
+		assertThat(cache.resolve("name:one", String.class)).isNull();
+	}
+
+	@Test
+	public void shouldNotReplaceANewerVersionOfAnObject() {
+		cache.put("id:1", "newer", 20L, "name:one");
+		cache.put("id:1", "older", 10L, "name:two");
+
+		assertThat(cache.get("id:1", String.class)).isEqualTo("newer");
+		assertThat(cache.resolve("name:two", String.class)).isNull();
+
+		cache.put("id:1", "newest", 30L);
+		assertThat(cache.get("id:1", String.class)).isEqualTo("newest");
+	}
+
+	@Test
+	public void shouldBeAbleToDetectWhetherAKeyIsInTheCache() {
+		cache.put("key", "value");
+		assertThat(cache.contains("key")).isTrue();
+		assertThat(cache.contains("bar")).isFalse();
+	}
+
+	@Test
+	public void shouldBeAbleToFlushTheCache() {
+		cache.put("key1", "value1");
+		cache.put("key2", "value2", "alias2");
+		cache.flush();
+
+		assertThat(cache.contains("key1")).isFalse();
+		assertThat(cache.contains("key2")).isFalse();
+		assertThat(cache.contains("alias2")).isFalse();
+	}
+
+}
@@ -0,0 +1,42 @@
+package fm.pattern.tokamak.server.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class QueryMetricsTest {
+
+	@Test
+	public void shouldNameAStatementByItsTableAndVerb() {
+		assertThat(QueryMetrics.name("select client0_.id as id1_2_ from Clients client0_ where client0_.id=?")).isEqualTo("Clients.select");
+		assertThat(QueryMetrics.name("insert into Accounts (created, updated) values (?, ?)")).isEqualTo("Accounts.insert");
+		assertThat(QueryMetrics.name("update Clients set name=? where id=?")).isEqualTo("Clients.update");
+		assertThat(QueryMetrics.name("delete from AccountRoles where account_id=?")).isEqualTo("AccountRoles.delete");
+		assertThat(QueryMetrics.name("SHOW SLAVE STATUS")).isEqualTo("other");
+	}
+
+	@Test
+	public void shouldPreferTheLogicalNameOfTheEnclosingOperation() {
+		String name = QueryMetrics.named("Clients.list", () -> QueryMetrics.named("Clients.count", () -> QueryMetrics.name("select count(*) from Clients")));
+		assertThat(name).isEqualTo("Clients.list");
+		assertThat(QueryMetrics.name("select count(*) from Clients")).isEqualTo("Clients.select");
+	}
+
+	@Test
+	public void shouldRecordALatencyHistogramPerQueryName() {
+		QueryMetrics metrics = new QueryMetrics(500);
+		metrics.record("select * from Scopes", Arrays.asList("String"), 1000);
+		metrics.record("select * from Scopes where id=?", Arrays.asList("String"), 2000);
+		QueryMetrics.named("Scopes.findById", () -> {
+			metrics.record("select * from Scopes where id=?", Arrays.asList("String"), 3000);
+			return null;
+		});
+
+		assertThat(metrics.getHistograms().get("Scopes.select").getCount()).isEqualTo(2);
+		assertThat(metrics.getHistograms().get("Scopes.findById").getCount()).isEqualTo(1);
+		assertThat(metrics.metrics()).extracting("name").contains("queries.Scopes.select.count", "queries.Scopes.findById.p99");
+	}
+
+}
@@ -0,0 +1,50 @@
+package fm.pattern.tokamak.server.repository;
+
+import static fm.pattern.tokamak.server.dsl.ClientDSL.client;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import fm.pattern.tokamak.server.IntegrationTest;
+import fm.pattern.tokamak.server.model.Account;
+import fm.pattern.tokamak.server.model.Client;
+import fm.pattern.tokamak.server.model.Role;
+import fm.pattern.tokamak.server.repository.QueryRegistry.Lookup;
+
+public class QueryRegistryIntegrationTest extends IntegrationTest {
+
+	@Autowired
+	private QueryRegistry queries;
+
+	@Test
+	public void shouldRegisterALookupForEachUniqueEntityAttribute() {
+		assertThat(queries.lookup(Client.class, "clientId").getName()).isEqualTo("Clients.findBy.clientId");
+		assertThat(queries.lookup(Client.class, "id").getName()).isEqualTo("Clients.findBy.id");
+		assertThat(queries.lookup(Role.class, "name").getUniquenessCheck()).isEqualTo("Roles.countOthersBy.name");
+	}
+
+	@Test
+	public void shouldRegisterTheEntityGraphWithTheLookup() {
+		assertThat(queries.lookup(Account.class, "username").getGraph()).isEqualTo("Accounts.roles");
+		assertThat(queries.lookup(Client.class, "clientId").getGraph()).isNull();
+	}
+
+	@Test
+	public void shouldBeAbleToReadTheLookupValueFromAnEntity() {
+		Client client = client().save();
+		Lookup lookup = queries.lookup(Client.class, "clientId");
+		assertThat(lookup.valueOf(client)).isEqualTo(client.getClientId());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectALookupOnAnAttributeThatIsNotUnique() {
+		queries.lookup(Client.class, "clientSecret");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectALookupOnAnUnregisteredType() {
+		queries.lookup(String.class, "value");
+	}
+
+}
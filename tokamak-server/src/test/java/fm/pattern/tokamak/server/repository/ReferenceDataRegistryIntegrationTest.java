@@ -0,0 +1,75 @@
+package fm.pattern.tokamak.server.repository;
+
+import static fm.pattern.tokamak.server.dsl.ScopeDSL.scope;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.util.SerializationUtils;
+
+import fm.pattern.tokamak.server.IntegrationTest;
+import fm.pattern.tokamak.server.model.PasswordPolicy;
+import fm.pattern.tokamak.server.model.Scope;
+
+public class ReferenceDataRegistryIntegrationTest extends IntegrationTest {
+
+	@Autowired
+	private ReferenceDataRegistry registry;
+
+	@Test
+	public void shouldServeReferenceDataLoadedAtStartup() {
+		PasswordPolicy policy = registry.findByName(PasswordPolicy.class, "account-password-policy");
+		assertThat(policy).isNotNull();
+		assertThat(policy.getName()).isEqualTo("account-password-policy");
+	}
+
+	@Test
+	public void shouldHandOutTheSameInstanceToEveryCaller() {
+		assertThat(registry.findByName(PasswordPolicy.class, "account-password-policy")).isSameAs(registry.findByName(PasswordPolicy.class, "account-password-policy"));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void shouldNotAllowCallersToChangeReferenceDataServedFromTheRegistry() {
+		registry.findByName(PasswordPolicy.class, "account-password-policy").setMinLength(255);
+	}
+
+	@Test
+	public void shouldSerializeReferenceDataServedFromTheRegistryAsThePersistentType() {
+		PasswordPolicy policy = registry.findByName(PasswordPolicy.class, "account-password-policy");
+
+		PasswordPolicy copy = (PasswordPolicy) SerializationUtils.deserialize(SerializationUtils.serialize(policy));
+		assertThat(copy.getClass()).isEqualTo(PasswordPolicy.class);
+		assertThat(copy.getId()).isEqualTo(policy.getId());
+		assertThat(copy.getMinLength()).isEqualTo(policy.getMinLength());
+	}
+
+	@Test
+	public void shouldVersionTheRegistryWithTheTableStamps() {
+		assertThat(registry.getVersion()).matches("[0-9a-f]+-[0-9a-f]+(\\.[0-9a-f]+-[0-9a-f]+){5}");
+	}
+
+	@Test
+	public void shouldLoadTheIdsThatAreNotInTheRegistry() {
+		List<String> requested = new ArrayList<>();
+		List<Scope> scopes = registry.findExistingById(Scope.class, Arrays.asList("scp_missing"), ids -> {
+			requested.addAll(ids);
+			return new ArrayList<>();
+		});
+
+		assertThat(scopes).isEmpty();
+		assertThat(requested).containsExactly("scp_missing");
+	}
+
+	@Test
+	public void shouldBypassTheRegistryForTheRestOfATransactionThatChangedReferenceData() {
+		Scope scope = scope().save();
+
+		assertThat(registry.findByName(PasswordPolicy.class, "account-password-policy")).isNull();
+		assertThat(registry.findExistingById(Scope.class, Arrays.asList(scope.getId()), ids -> Arrays.asList(scope))).containsExactly(scope);
+	}
+
+}
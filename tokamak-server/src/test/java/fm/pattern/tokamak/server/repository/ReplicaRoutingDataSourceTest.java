@@ -0,0 +1,95 @@
+package fm.pattern.tokamak.server.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReplicaRoutingDataSourceTest {
+
+	private final DataSource primary = new DriverManagerDataSource();
+	private final DataSource replica1 = new DriverManagerDataSource();
+	private final DataSource replica2 = new DriverManagerDataSource();
+
+	private AtomicLong clock;
+	private Map<DataSource, Long> lags;
+	private ReplicaRoutingDataSource dataSource;
+
+	@Before
+	public void before() {
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		replicas.put("replica-0", replica1);
+		replicas.put("replica-1", replica2);
+
+		clock = new AtomicLong(10000);
+		lags = new HashMap<>();
+		lags.put(replica1, 0L);
+		lags.put(replica2, 0L);
+
+		dataSource = new ReplicaRoutingDataSource(primary, replicas, 5, 1000, 0, lags::get, clock::get);
+		dataSource.afterPropertiesSet();
+		dataSource.check();
+	}
+
+	@After
+	public void after() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+	}
+
+	@Test
+	public void shouldRouteReadOnlyTransactionsToTheReplicas() {
+		readOnly();
+		assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("replica-0");
+		assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("replica-1");
+		assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("replica-0");
+	}
+
+	@Test
+	public void shouldRouteWritesToThePrimary() {
+		assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+	}
+
+	@Test
+	public void shouldEjectAReplicaThatIsLaggingOrUnreachable() {
+		lags.put(replica1, 6L);
+		lags.put(replica2, null);
+		dataSource.check();
+
+		readOnly();
+		assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+		lags.put(replica2, 1L);
+		dataSource.check();
+		assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("replica-1");
+		assertThat(dataSource.getReplicationLag()).containsEntry("replica-0", 6L).containsEntry("replica-1", 1L);
+	}
+
+	@Test
+	public void shouldKeepReadsOnThePrimaryImmediatelyAfterAWrite() {
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+		readOnly();
+		assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+		clock.addAndGet(1000);
+		assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("replica-0");
+	}
+
+	private void readOnly() {
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+	}
+
+}
@@ -0,0 +1,69 @@
+package fm.pattern.tokamak.server.repository;
+
+import static fm.pattern.tokamak.server.dsl.ClientDSL.client;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import fm.pattern.tokamak.server.IntegrationTest;
+import fm.pattern.tokamak.server.conversion.ClientConversionService;
+import fm.pattern.tokamak.server.model.Client;
+import fm.pattern.tokamak.server.repository.RepresentationCache.Serialized;
+
+public class RepresentationCacheIntegrationTest extends IntegrationTest {
+
+	@Autowired
+	private RepresentationCache representationCache;
+
+	@Autowired
+	private ClientConversionService clientConversionService;
+
+	@Test
+	public void shouldServeTheSameSerializedRepresentationWhileTheEntityIsUnchanged() {
+		Client client = client().save();
+		AtomicInteger conversions = new AtomicInteger();
+
+		Serialized first = representationCache.get(client, () -> convert(client, conversions));
+		Serialized second = representationCache.get(client, () -> convert(client, conversions));
+
+		assertThat(conversions.get()).isEqualTo(1);
+		assertThat(second.getBody()).isSameAs(first.getBody());
+		assertThat(second.getETag()).isEqualTo(first.getETag()).startsWith("\"").endsWith("\"");
+		assertThat(new String(first.getBody())).contains(client.getClientId());
+	}
+
+	@Test
+	public void shouldSerializeTheRepresentationAgainWhenTheEntityChanges() {
+		Client client = client().save();
+		AtomicInteger conversions = new AtomicInteger();
+
+		Serialized first = representationCache.get(client, () -> convert(client, conversions));
+		client.setUpdated(new Date(client.getUpdated().getTime() + 1000));
+		Serialized second = representationCache.get(client, () -> convert(client, conversions));
+
+		assertThat(conversions.get()).isEqualTo(2);
+		assertThat(second.getETag()).isNotEqualTo(first.getETag());
+	}
+
+	@Test
+	public void shouldSerializeTheRepresentationAgainOnceEvicted() {
+		Client client = client().save();
+		AtomicInteger conversions = new AtomicInteger();
+
+		representationCache.get(client, () -> convert(client, conversions));
+		representationCache.evict(Client.class, client.getId());
+		representationCache.get(client, () -> convert(client, conversions));
+
+		assertThat(conversions.get()).isEqualTo(2);
+	}
+
+	private Object convert(Client client, AtomicInteger conversions) {
+		conversions.incrementAndGet();
+		return clientConversionService.convert(client);
+	}
+
+}
@@ -0,0 +1,38 @@
+package fm.pattern.tokamak.server.repository;
+
+import static fm.pattern.tokamak.server.PatternAssertions.assertThat;
+import static fm.pattern.tokamak.server.dsl.AccountDSL.account;
+import static fm.pattern.tokamak.server.dsl.ScopeDSL.scope;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import fm.pattern.tokamak.server.IntegrationTest;
+import fm.pattern.tokamak.server.model.Account;
+import fm.pattern.tokamak.server.model.Scope;
+
+public class UniqueConstraintsIntegrationTest extends IntegrationTest {
+
+	@Autowired
+	@Qualifier("transactionalDataRepository")
+	private DataRepository repository;
+
+	@Test
+	public void shouldTranslateAUniqueKeyViolationOnSaveIntoTheConflictError() {
+		Scope existing = scope().save();
+		Scope duplicate = scope().withName(existing.getName()).build();
+
+		assertThat(repository.save(duplicate)).rejected().withMessage("This scope name is already in use.");
+	}
+
+	@Test
+	public void shouldTranslateAUniqueKeyViolationOnUpdateIntoTheConflictError() {
+		Account existing = account().save();
+		Account account = account().save();
+		account.setUsername(existing.getUsername());
+
+		assertThat(repository.update(account)).rejected().withMessage("This account username is already in use.");
+	}
+
+}
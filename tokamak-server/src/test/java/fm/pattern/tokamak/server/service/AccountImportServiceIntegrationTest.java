@@ -0,0 +1,115 @@
+package fm.pattern.tokamak.server.service;
+
+import static fm.pattern.tokamak.server.PatternAssertions.assertThat;
+import static fm.pattern.tokamak.server.dsl.AccountDSL.account;
+import static fm.pattern.tokamak.server.dsl.RoleDSL.role;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import fm.pattern.tokamak.server.IntegrationTest;
+import fm.pattern.tokamak.server.model.Account;
+import fm.pattern.tokamak.server.model.Role;
+import fm.pattern.valex.Result;
+
+public class AccountImportServiceIntegrationTest extends IntegrationTest {
+
+	@Autowired
+	private AccountImportService accountImportService;
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private PasswordEncodingService passwordEncodingService;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Test
+	public void shouldBeAbleToImportAccounts() {
+		Role role = role().save();
+		Account first = account().withPassword("csli2i3R83lsjasi%%").withRole(role).build();
+		Account second = account().withRole(role).build();
+
+		List<Result<Account>> results = accountImportService.importAccounts(Arrays.asList(first, second), false);
+		assertThat(results).hasSize(2);
+		assertThat(results.get(0)).accepted();
+		assertThat(results.get(1)).accepted();
+
+		Account imported = accountService.findByUsername(first.getUsername()).orThrow();
+		assertThat(imported.getId()).isEqualTo(first.getId());
+		assertThat(imported.getRoles()).containsExactly(role);
+		assertThat(passwordEncodingService.matches("csli2i3R83lsjasi%%", imported.getPassword())).isTrue();
+		assertThat(accountService.findByUsername(second.getUsername()).accepted()).isTrue();
+	}
+
+	@Test
+	public void shouldStorePrehashedPasswordsAsIs() {
+		String hash = passwordEncodingService.encode("csli2i3R83lsjasi%%");
+		Account account = account().withPassword(hash).build();
+
+		List<Result<Account>> results = accountImportService.importAccounts(Arrays.asList(account), true);
+		assertThat(results.get(0)).accepted();
+		assertThat(accountService.findByUsername(account.getUsername()).orThrow().getPassword()).isEqualTo(hash);
+	}
+
+	@Test
+	public void shouldRejectAPrehashedPasswordThatIsNotABCryptHash() {
+		Account account = account().withPassword("csli2i3R83lsjasi%%").build();
+
+		List<Result<Account>> results = accountImportService.importAccounts(Arrays.asList(account), true);
+		assertThat(results.get(0)).rejected().withMessage("A pre-hashed account password must be a BCrypt hash.");
+		assertThat(accountService.findByUsername(account.getUsername()).accepted()).isFalse();
+	}
+
+	@Test
+	public void shouldReportARejectionForEachInvalidAccountAndImportTheRest() {
+		Account valid = account().build();
+		Account missingUsername = account().withUsername(null).build();
+		Account weakPassword = account().withPassword("a").build();
+
+		List<Result<Account>> results = accountImportService.importAccounts(Arrays.asList(missingUsername, valid, weakPassword), false);
+		assertThat(results.get(0)).rejected().withMessage("An account username is required.");
+		assertThat(results.get(1)).accepted();
+		assertThat(results.get(2).rejected()).isTrue();
+		assertThat(accountService.findByUsername(valid.getUsername()).accepted()).isTrue();
+	}
+
+	@Test
+	public void shouldRejectADuplicateUsernameWithinAnImport() {
+		Account first = account().withUsername("duplicate@address.com").build();
+		Account second = account().withUsername("Duplicate@address.com").build();
+
+		List<Result<Account>> results = accountImportService.importAccounts(Arrays.asList(first, second), false);
+		assertThat(results.get(0)).accepted();
+		assertThat(results.get(1)).rejected().withMessage("This account username is already in use.");
+	}
+
+	@Test
+	public void shouldImportTheRestOfABatchWhenAnAccountConflictsWithAnExistingUsername() {
+		Account existing = account().save();
+		entityManager.flush();
+
+		Account first = account().build();
+		Account conflicting = account().withUsername(existing.getUsername()).build();
+		Account last = account().build();
+
+		List<Result<Account>> results = accountImportService.importAccounts(Arrays.asList(first, conflicting, last), false);
+		assertThat(results.get(0)).accepted();
+		assertThat(results.get(1)).rejected().withMessage("This account username is already in use.");
+		assertThat(results.get(2)).accepted();
+
+		assertThat(accountService.findByUsername(first.getUsername()).accepted()).isTrue();
+		assertThat(accountService.findByUsername(last.getUsername()).accepted()).isTrue();
+		assertThat(accountService.findByUsername(existing.getUsername()).orThrow().getId()).isEqualTo(existing.getId());
+	}
+
+}
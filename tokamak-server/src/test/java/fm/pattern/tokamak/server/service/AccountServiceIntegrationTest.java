@@ -9,14 +9,21 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.IntStream;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import fm.pattern.tokamak.server.IntegrationTest;
 import fm.pattern.tokamak.server.model.Account;
 import fm.pattern.tokamak.server.model.Role;
+import fm.pattern.tokamak.server.repository.PaginatedList;
 import fm.pattern.valex.EntityNotFoundException;
 import fm.pattern.valex.Result;
 import fm.pattern.valex.UnprocessableEntityException;
@@ -29,6 +36,9 @@ public class AccountServiceIntegrationTest extends IntegrationTest {
 	@Autowired
 	private PasswordEncodingService passwordEncodingService;
 
+	@PersistenceContext
+	private EntityManager entityManager;
+
 	@Test
 	public void shouldBeAbleToCreateAnAccount() {
 		String password = "csli2i3R83lsjasi%%";
@@ -136,6 +146,14 @@ public class AccountServiceIntegrationTest extends IntegrationTest {
 		assertThat(result.getInstance()).isEqualToComparingFieldByField(account);
 	}
 
+	@Test
+	public void shouldFindManyAccountsByUsernameUnderTheRequestedKey() {
+		Account account = account().withUsername("batch_lookup_user").save();
+
+		Map<String, Account> accounts = accountService.findAllByUsername(Arrays.asList("Batch_Lookup_User", "batch_lookup_user", "batch_lookup_missing")).getInstance();
+		assertThat(accounts).hasSize(2).containsEntry("Batch_Lookup_User", account).containsEntry("batch_lookup_user", account);
+	}
+
 	@Test
 	public void shouldNotBeAbleToFindAnAccountByUsernameIfTheUsernameIsNull() {
 		assertThat(accountService.findByUsername(null)).rejected().withError("ACC-0001", "An account username is required.", UnprocessableEntityException.class);
@@ -197,6 +215,46 @@ public class AccountServiceIntegrationTest extends IntegrationTest {
 		assertThat(accountService.list(criteria().limit(1).page(3)).getInstance().size()).isEqualTo(1);
 	}
 
+	@Test
+	public void shouldBeAbleToPageThroughAccountsWithACursor() {
+		IntStream.range(0, 5).forEach(i -> account().save());
+
+		PaginatedList<Account> first = (PaginatedList<Account>) accountService.list(criteria().limit(2)).getInstance();
+		assertThat(first.size()).isEqualTo(2);
+		assertThat(first.getNext()).isNotNull();
+
+		PaginatedList<Account> second = (PaginatedList<Account>) accountService.list(criteria().limit(2).cursor(first.getNext())).getInstance();
+		assertThat(second.size()).isEqualTo(2);
+		assertThat(second).doesNotContainAnyElementsOf(first);
+		assertThat(second).containsExactlyElementsOf(accountService.list(criteria().limit(2).page(2)).getInstance());
+	}
+
+	@Test
+	public void shouldNotBeAbleToListAccountsWithAnInvalidCursor() {
+		assertThat(accountService.list(criteria().cursor("invalid cursor"))).rejected().withMessage("The cursor 'invalid cursor' is not a valid continuation token.");
+	}
+
+	@Test
+	public void shouldLoadAnAccountAndItsRolesWithASingleQuery() {
+		Account account = account().withRole(role().save()).withRole(role().save()).save();
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics statistics = entityManager.unwrap(Session.class).getSessionFactory().getStatistics();
+		boolean enabled = statistics.isStatisticsEnabled();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+
+		try {
+			Account found = accountService.findByUsername(account.getUsername()).getInstance();
+			assertThat(found.getRoles()).hasSize(2);
+			assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		}
+		finally {
+			statistics.setStatisticsEnabled(enabled);
+		}
+	}
+
 	private void assertAccountHasPassword(String username, String expectedPassword) {
 		String actualPassword = accountService.findByUsername(username).getInstance().getPassword();
 		passwordEncodingService.matches(expectedPassword, actualPassword);
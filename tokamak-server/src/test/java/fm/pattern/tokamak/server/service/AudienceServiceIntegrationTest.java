@@ -13,6 +13,7 @@ import java.util.List;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 import fm.pattern.tokamak.server.IntegrationTest;
 import fm.pattern.tokamak.server.model.Audience;
@@ -67,9 +68,11 @@ public class AudienceServiceIntegrationTest extends IntegrationTest {
 	@Test
 	public void shouldFlushTheClientCacheWhenAnAudienceIsUpdated() {
 		Client client = client().withGrantType(grantType().save()).save();
+		TransactionSynchronizationUtils.triggerAfterCommit();
 
 		assertThat(cache.get("clients:id:" + client.getId(), Client.class)).isNotNull();
 		assertThat(audienceService.update(audience().save())).accepted();
+		TransactionSynchronizationUtils.triggerAfterCommit();
 		assertThat(cache.get("clients:id:" + client.getId(), Client.class)).isNull();
 	}
 
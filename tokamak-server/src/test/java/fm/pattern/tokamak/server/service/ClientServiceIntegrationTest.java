@@ -7,10 +7,18 @@ import static fm.pattern.tokamak.server.dsl.ScopeDSL.scope;
 import static fm.pattern.tokamak.server.repository.Criteria.criteria;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +29,8 @@ import fm.pattern.tokamak.server.IntegrationTest;
 import fm.pattern.tokamak.server.model.Client;
 import fm.pattern.tokamak.server.model.GrantType;
 import fm.pattern.tokamak.server.model.Scope;
+import fm.pattern.tokamak.server.repository.PaginatedList;
+import fm.pattern.tokamak.server.repository.TotalCount;
 import fm.pattern.valex.EntityNotFoundException;
 import fm.pattern.valex.Result;
 import fm.pattern.valex.UnprocessableEntityException;
@@ -33,6 +43,9 @@ public class ClientServiceIntegrationTest extends IntegrationTest {
 	@Autowired
 	private PasswordEncodingService passwordEncodingService;
 
+	@PersistenceContext
+	private EntityManager entityManager;
+
 	private GrantType grantType;
 
 	@Before
@@ -146,6 +159,27 @@ public class ClientServiceIntegrationTest extends IntegrationTest {
 		assertThat(clientService.findByClientId("csrx")).rejected().withError("CLI-0009", "No such client id: csrx", EntityNotFoundException.class);
 	}
 
+	@Test
+	public void shouldBeAbleToFindManyClientsById() {
+		Client first = client().withGrantType(grantType).save();
+		Client second = client().withGrantType(grantType).save();
+
+		Map<String, Client> clients = clientService.findAllById(Arrays.asList(first.getId(), "csrx", second.getId(), first.getId())).getInstance();
+		assertThat(clients).hasSize(2).containsEntry(first.getId(), first).containsEntry(second.getId(), second);
+	}
+
+	@Test
+	public void shouldNotBeAbleToFindManyClientsByIdIfNoIdsAreProvided() {
+		assertThat(clientService.findAllById(null)).rejected().withMessage("At least one key is required.");
+		assertThat(clientService.findAllById(Arrays.asList("", "  "))).rejected().withMessage("At least one key is required.");
+	}
+
+	@Test
+	public void shouldNotBeAbleToFindMoreClientsByIdThanTheLookupLimit() {
+		List<String> ids = IntStream.range(0, 101).mapToObj(i -> "cli_" + i).collect(Collectors.toList());
+		assertThat(clientService.findAllById(ids)).rejected().withMessage("No more than 100 keys can be looked up in a single request.");
+	}
+
 	@Test
 	public void shouldBeAbleToUpdateASecret() {
 		String currentSecret = "myOLDSecret1111112!";
@@ -197,6 +231,80 @@ public class ClientServiceIntegrationTest extends IntegrationTest {
 		assertThat(clientService.list(criteria().limit(1).page(3)).getInstance().size()).isEqualTo(1);
 	}
 
+	@Test
+	public void shouldBeAbleToPageThroughClientsWithACursor() {
+		IntStream.range(0, 5).forEach(i -> client().withGrantType(grantType).save());
+
+		PaginatedList<Client> first = (PaginatedList<Client>) clientService.list(criteria().limit(2)).getInstance();
+		assertThat(first.size()).isEqualTo(2);
+		assertThat(first.getNext()).isNotNull();
+
+		PaginatedList<Client> second = (PaginatedList<Client>) clientService.list(criteria().limit(2).cursor(first.getNext())).getInstance();
+		assertThat(second.size()).isEqualTo(2);
+		assertThat(second).doesNotContainAnyElementsOf(first);
+		assertThat(second).containsExactlyElementsOf(clientService.list(criteria().limit(2).page(2)).getInstance());
+	}
+
+	@Test
+	public void shouldNotBeAbleToListClientsWithAnInvalidCursor() {
+		assertThat(clientService.list(criteria().cursor("invalid cursor"))).rejected().withMessage("The cursor 'invalid cursor' is not a valid continuation token.");
+	}
+
+	@Test
+	public void shouldBeAbleToListClientsWithoutATotal() {
+		IntStream.range(0, 3).forEach(i -> client().withGrantType(grantType).save());
+
+		PaginatedList<Client> clients = (PaginatedList<Client>) clientService.list(criteria().limit(2).total(TotalCount.NONE)).getInstance();
+		assertThat(clients.size()).isEqualTo(2);
+		assertThat(clients.getTotal()).isNull();
+		assertThat(clients.getTotalPages()).isNull();
+		assertThat(clients.hasNextPage()).isTrue();
+	}
+
+	@Test
+	public void shouldBeAbleToListClientsWithACachedTotal() {
+		Integer cached = ((PaginatedList<Client>) clientService.list(criteria().total(TotalCount.CACHED)).getInstance()).getTotal();
+		client().withGrantType(grantType).save();
+
+		assertThat(((PaginatedList<Client>) clientService.list(criteria().total(TotalCount.CACHED)).getInstance()).getTotal()).isEqualTo(cached);
+	}
+
+	@Test
+	public void shouldBeAbleToListClientsWithAnApproximateTotal() {
+		Number estimate = (Number) entityManager.createNativeQuery("select table_rows from information_schema.tables where table_schema = database() and table_name = 'Clients'").getSingleResult();
+		assertThat(estimate).isNotNull();
+
+		assertThat(((PaginatedList<Client>) clientService.list(criteria().total(TotalCount.APPROXIMATE)).getInstance()).getTotal()).isEqualTo(estimate.intValue());
+	}
+
+	@Test
+	public void shouldNotBeAbleToListClientsWithAnUnknownTotal() {
+		assertThat(clientService.list(criteria().total("aproximate"))).rejected().withMessage("The total 'aproximate' is not supported, use 'exact', 'cached', 'approximate' or 'none'.");
+	}
+
+	@Test
+	public void shouldLoadAPageOfClientsWithAFixedNumberOfQueries() {
+		Scope scope = scope().save();
+		IntStream.range(0, 50).forEach(i -> client().withGrantType(grantType).withScope(scope).save());
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics statistics = entityManager.unwrap(Session.class).getSessionFactory().getStatistics();
+		boolean enabled = statistics.isStatisticsEnabled();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+
+		try {
+			List<Client> clients = clientService.list(criteria().limit(50)).getInstance();
+			assertThat(clients).hasSize(50);
+			assertThat(clients.get(0).getGrantTypes()).hasSize(1);
+			assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+		}
+		finally {
+			statistics.setStatisticsEnabled(enabled);
+		}
+	}
+
 	private void assertClientHasSecret(String username, String expectedSecret) {
 		String actualSecret = clientService.findByClientId(username).getInstance().getClientSecret();
 		passwordEncodingService.matches(expectedSecret, actualSecret);
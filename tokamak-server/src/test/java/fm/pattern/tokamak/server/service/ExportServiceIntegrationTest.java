@@ -0,0 +1,72 @@
+package fm.pattern.tokamak.server.service;
+
+import static fm.pattern.tokamak.server.dsl.AccountDSL.account;
+import static fm.pattern.tokamak.server.dsl.ClientDSL.client;
+import static fm.pattern.tokamak.server.dsl.RoleDSL.role;
+import static fm.pattern.tokamak.server.dsl.ScopeDSL.scope;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import fm.pattern.tokamak.server.IntegrationTest;
+import fm.pattern.tokamak.server.model.Account;
+import fm.pattern.tokamak.server.model.Client;
+import fm.pattern.tokamak.server.model.Role;
+import fm.pattern.tokamak.server.model.Scope;
+
+public class ExportServiceIntegrationTest extends IntegrationTest {
+
+	@Autowired
+	private ExportService exportService;
+
+	@Test
+	public void shouldBeAbleToExportAccountsWithTheirRoles() {
+		Role role = role().save();
+		Account account = account().withRole(role).save();
+
+		List<Map<String, Object>> rows = new ArrayList<>();
+		exportService.exportAccounts(row -> rows.add(row));
+
+		Map<String, Object> row = rows.stream().filter(r -> account.getId().equals(r.get("id"))).findFirst().get();
+		assertThat(row.get("username")).isEqualTo(account.getUsername());
+		assertThat(row.get("roles")).isEqualTo(role.getName());
+		assertThat(row).doesNotContainKey("password");
+	}
+
+	@Test
+	public void shouldBeAbleToExportClientsWithoutTheirSecrets() {
+		Scope scope1 = scope().withName("export:a").save();
+		Scope scope2 = scope().withName("export:b").save();
+		Client client = client().withScope(scope2, scope1).save();
+
+		List<Map<String, Object>> rows = new ArrayList<>();
+		exportService.exportClients(row -> rows.add(row));
+
+		Map<String, Object> row = rows.stream().filter(r -> client.getId().equals(r.get("id"))).findFirst().get();
+		assertThat(row.get("clientId")).isEqualTo(client.getClientId());
+		assertThat(row.get("scopes")).isEqualTo("export:a export:b");
+		assertThat(row).doesNotContainKey("clientSecret").doesNotContainKey("client_secret");
+	}
+
+	@Test
+	public void shouldExportAssociationListsLongerThanTheDefaultGroupConcatLimit() {
+		List<Scope> scopes = IntStream.range(0, 60).mapToObj(i -> scope().withName(String.format("export:long-scope-name-%02d", i)).save()).collect(Collectors.toList());
+		Client client = client().withScope(scopes.toArray(new Scope[scopes.size()])).save();
+		String expected = scopes.stream().map(Scope::getName).sorted().collect(Collectors.joining(" "));
+		assertThat(expected.length()).isGreaterThan(1024);
+
+		List<Map<String, Object>> rows = new ArrayList<>();
+		exportService.exportClients(row -> rows.add(row));
+
+		Map<String, Object> row = rows.stream().filter(r -> client.getId().equals(r.get("id"))).findFirst().get();
+		assertThat(row.get("scopes")).isEqualTo(expected);
+	}
+
+}
@@ -11,6 +11,7 @@ import java.util.List;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 import fm.pattern.tokamak.server.IntegrationTest;
 import fm.pattern.tokamak.server.model.Account;
@@ -65,9 +66,11 @@ public class RoleServiceIntegrationTest extends IntegrationTest {
 	@Test
 	public void shouldFlushTheAccountCacheWhenARoleIsUpdated() {
 		Account account = account().save();
+		TransactionSynchronizationUtils.triggerAfterCommit();
 
 		assertThat(cache.get("accounts:id:" + account.getId(), Account.class)).isNotNull();
 		assertThat(roleService.update(role().save())).accepted();
+		TransactionSynchronizationUtils.triggerAfterCommit();
 		assertThat(cache.get("accounts:id:" + account.getId(), Account.class)).isNull();
 	}
 
@@ -8,16 +8,19 @@ import static java.util.stream.IntStream.range;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 import fm.pattern.tokamak.server.IntegrationTest;
 import fm.pattern.tokamak.server.model.Client;
 import fm.pattern.tokamak.server.model.Scope;
 import fm.pattern.tokamak.server.repository.Cache;
+import fm.pattern.tokamak.server.repository.CollectionVersion;
 import fm.pattern.valex.EntityNotFoundException;
 import fm.pattern.valex.ResourceConflictException;
 import fm.pattern.valex.Result;
@@ -67,9 +70,11 @@ public class ScopeServiceIntegrationTest extends IntegrationTest {
 	@Test
 	public void shouldFlushTheClientCacheWhenAScopeIsUpdated() {
 		Client client = client().withGrantType(grantType().save()).save();
+		TransactionSynchronizationUtils.triggerAfterCommit();
 
 		assertThat(cache.get("clients:id:" + client.getId(), Client.class)).isNotNull();
 		assertThat(scopeService.update(scope().save())).accepted();
+		TransactionSynchronizationUtils.triggerAfterCommit();
 		assertThat(cache.get("clients:id:" + client.getId(), Client.class)).isNull();
 	}
 
@@ -213,4 +218,44 @@ public class ScopeServiceIntegrationTest extends IntegrationTest {
 		assertThat(result.getInstance()).isEmpty();
 	}
 
+	@Test
+	public void shouldBeAbleToUpsertScopes() {
+		Scope existing = scope().withName("upsert:existing").withDescription("before").save();
+
+		Scope updated = new Scope("upsert:existing");
+		updated.setDescription("after");
+		Scope created = new Scope("upsert:new");
+
+		Result<List<Scope>> result = scopeService.upsert(Arrays.asList(updated, created));
+		assertThat(result).accepted();
+		assertThat(result.getInstance().get(0).getId()).isEqualTo(existing.getId());
+
+		assertThat(scopeService.findByName("upsert:existing").orThrow().getDescription()).isEqualTo("after");
+		assertThat(scopeService.findByName("upsert:new").orThrow().getId()).isEqualTo(created.getId());
+	}
+
+	@Test
+	public void shouldNotUpsertScopesWithDuplicateNames() {
+		Result<List<Scope>> result = scopeService.upsert(Arrays.asList(new Scope("upsert:duplicate"), new Scope("upsert:duplicate")));
+		assertThat(result).rejected().withMessage("This scope name is already in use.");
+		assertThat(scopeService.findByName("upsert:duplicate").accepted()).isFalse();
+	}
+
+	@Test
+	public void shouldNotUpsertScopesWhenAnyScopeIsInvalid() {
+		Result<List<Scope>> result = scopeService.upsert(Arrays.asList(new Scope("upsert:valid"), new Scope(null)));
+		assertThat(result).rejected().withMessage("A scope name is required.");
+		assertThat(scopeService.findByName("upsert:valid").accepted()).isFalse();
+	}
+
+	@Test
+	public void shouldChangeTheCollectionVersionWhenAScopeIsAdded() {
+		CollectionVersion before = scopeService.version().orThrow();
+		scope().save();
+
+		CollectionVersion after = scopeService.version().orThrow();
+		assertThat(after.getCount()).isEqualTo(before.getCount() + 1);
+		assertThat(after.getETag()).isNotEqualTo(before.getETag());
+	}
+
 }